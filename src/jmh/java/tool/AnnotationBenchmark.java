@@ -0,0 +1,53 @@
+package tool;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tool.designpatterns.Pattern;
+
+/**
+ * Measures finding the pattern annotations in the classes that the analysis parses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AnnotationBenchmark {
+
+    // Only used to parse the project, which is not measured.
+    @Param({"4"})
+    public int threads;
+
+    private List<ClassOrInterfaceDeclaration> classes;
+
+    @Setup(Level.Trial)
+    public void parse(GeneratedProject project) {
+        classes = ProjectParser.findAnnotatedClassesAndInterfaces(
+            ProjectParser.findSourceFiles(project.getRoot()),
+            SolveThatSymbolSolver.getConfig(project.getRoot()), threads);
+    }
+
+    @Benchmark
+    public Map<Pattern, List<ClassOrInterfaceDeclaration>> findAnnotations() {
+        AnnotationExtractor extractor = new AnnotationExtractor();
+        extractor.findAnnotations(classes);
+        return extractor.getPatternClassMap();
+    }
+}
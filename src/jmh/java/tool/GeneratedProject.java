@@ -0,0 +1,48 @@
+package tool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import utilities.SyntheticProject;
+
+/**
+ * A project generated in a temporary directory before the benchmarks are run, and deleted after
+ * them. The project only depends on the parameters, so every run measures the same code.
+ */
+@State(Scope.Benchmark)
+public class GeneratedProject {
+
+    @Param({"100", "1000"})
+    public int fillerClasses;
+
+    @Param({"1", "10"})
+    public int patternInstances;
+
+    @Param({"1", "5"})
+    public int inheritanceDepth;
+
+    private Path root;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        root = Files.createTempDirectory("synthetic");
+        SyntheticProject.defaults().withFillerClasses(fillerClasses).withPatternInstances(
+            patternInstances).withInheritanceDepth(inheritanceDepth).generate(root);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        SyntheticProject.delete(root);
+    }
+
+    public String getRoot() {
+        return root.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package tool;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parsing of a project as the analysis does it, and the setup of the symbol solver
+ * used while parsing. Each parse gets a new symbol solver, so no file is already cached by it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParseBenchmark {
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private List<Path> files;
+    private ParserConfiguration config;
+
+    @Setup(Level.Trial)
+    public void findSourceFiles(GeneratedProject project) {
+        files = ProjectParser.findSourceFiles(project.getRoot());
+    }
+
+    @Setup(Level.Invocation)
+    public void configure(GeneratedProject project) {
+        config = SolveThatSymbolSolver.getConfig(project.getRoot());
+    }
+
+    @Benchmark
+    public List<ClassOrInterfaceDeclaration> findAnnotatedClassesAndInterfaces() {
+        return ProjectParser.findAnnotatedClassesAndInterfaces(files, config, threads);
+    }
+
+    @Benchmark
+    public ParserConfiguration getConfig(GeneratedProject project) {
+        return SolveThatSymbolSolver.getConfig(project.getRoot());
+    }
+}
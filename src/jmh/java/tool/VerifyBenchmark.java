@@ -0,0 +1,75 @@
+package tool;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tool.designpatterns.Pattern;
+import tool.designpatterns.PatternGroup;
+import tool.designpatterns.PatternUtils;
+import tool.feedback.PatternGroupFeedback;
+
+/**
+ * Measures the verification of a pattern group. The verifiers keep what they resolved in the
+ * nodes, so the project is parsed again, with a new symbol solver, before every verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VerifyBenchmark {
+
+    @Param({"SINGLETON", "IMMUTABLE", "DECORATOR", "ADAPTER", "PROXY", "COMPOSITE"})
+    public PatternGroup group;
+
+    // Only used to parse the project, which is not measured.
+    @Param({"4"})
+    public int threads;
+
+    private List<Path> files;
+    private Map<Pattern, List<ClassOrInterfaceDeclaration>> patternMap;
+
+    @Setup(Level.Trial)
+    public void findSourceFiles(GeneratedProject project) {
+        files = ProjectParser.findSourceFiles(project.getRoot());
+    }
+
+    @Setup(Level.Invocation)
+    public void findGroup(GeneratedProject project) {
+        AnnotationExtractor extractor = new AnnotationExtractor();
+        extractor.findAnnotations(ProjectParser.findAnnotatedClassesAndInterfaces(
+            files, SolveThatSymbolSolver.getConfig(project.getRoot()), threads));
+
+        patternMap = new HashMap<>();
+        extractor.getPatternClassMap().forEach((pattern, classes) -> {
+            if (PatternUtils.patternGroupFromPattern(pattern) == group) {
+                patternMap.put(pattern, classes);
+            }
+        });
+    }
+
+    @Benchmark
+    public PatternGroupFeedback verifyGroup() {
+        // Some verifiers remove the classes they have handled from the lists they are given, the
+        // lists are new for every invocation.
+        return group.getVerifier().verifyGroup(patternMap);
+    }
+}
@@ -1,5 +1,7 @@
 package plugin;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -8,12 +10,22 @@ import java.util.List;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.plugins.JavaPluginConvention;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.TaskAction;
+import tool.AnalyserSettings;
 import tool.MainProgram;
 import tool.designpatterns.DesignPattern;
 import tool.designpatterns.Pattern;
+import tool.feedback.ResultWriter;
+import tool.metrics.Metrics;
+import tool.metrics.StageMetrics;
 
 /**
  * A gradle task that will check verify classes against design patterns as described by certain
@@ -26,6 +38,68 @@ public class AnalyseTask extends DefaultTask {
         super();
     }
 
+    /**
+     * The source files that are analysed, the task is up to date if none of them have changed.
+     *
+     * @return the java files of the main source set.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileCollection getSourceFiles() {
+        return getMainSourceSet().getAllJava();
+    }
+
+    /**
+     * The directory where the results of the analysis are cached between builds.
+     *
+     * @return the cache directory.
+     */
+    @OutputDirectory
+    public File getCacheDirectory() {
+        return new File(getProject().getBuildDir(), "staticanalyser");
+    }
+
+    /**
+     * The JSON report with the time and memory spent on each stage of the last analysis.
+     *
+     * @return the report file.
+     */
+    @OutputFile
+    public File getMetricsReport() {
+        return new File(getProject().getBuildDir(), "reports/staticanalyser/metrics.json");
+    }
+
+    /**
+     * The report with all feedback of the last analysis, the build failure only shows the first
+     * errors.
+     *
+     * @return the report file.
+     */
+    @OutputFile
+    public File getReport() {
+        return new File(getProject().getBuildDir(), "reports/staticanalyser/report.txt");
+    }
+
+    /**
+     * The errors of the last analysis in SARIF, for tools that show the errors in the code.
+     *
+     * @return the SARIF file.
+     */
+    @OutputFile
+    public File getSarifReport() {
+        return new File(getProject().getBuildDir(), "reports/staticanalyser/results.sarif");
+    }
+
+    /**
+     * The errors of the last analysis as a compact JSON list.
+     *
+     * @return the JSON file.
+     */
+    @OutputFile
+    public File getJsonReport() {
+        return new File(getProject().getBuildDir(), "reports/staticanalyser/results.json");
+    }
+
     /**
      * Check task that will run the analyse program.
      *
@@ -36,10 +110,7 @@ public class AnalyseTask extends DefaultTask {
         Project project = this.getProject();
         List<Path> paths = new ArrayList<>();
 
-        SourceSet mainSourceSet = project.getConvention().getPlugin(JavaPluginConvention.class)
-                                         .getSourceSets().getByName("main");
-
-        mainSourceSet.getAllJava().getSrcDirs().forEach(file -> {
+        getMainSourceSet().getAllJava().getSrcDirs().forEach(file -> {
             paths.add(Paths.get(file.getAbsolutePath()));
         });
 
@@ -48,6 +119,41 @@ public class AnalyseTask extends DefaultTask {
             pathStrings.add(path.toString());
         });
 
-        MainProgram.startAnalyse(pathStrings.toArray(new String[0]));
+        AnalyserExtension extension = project.getExtensions().getByType(AnalyserExtension.class);
+        AnalyserSettings settings = AnalyserSettings.defaults().withThreads(extension.getThreads())
+                                                    .withCacheDirectory(
+                                                        getCacheDirectory().toPath())
+                                                    .withMetricsListener(this::reportMetrics)
+                                                    .withReportFile(getReport().toPath())
+                                                    .withResultFile(ResultWriter.Format.SARIF,
+                                                                    getSarifReport().toPath())
+                                                    .withResultFile(ResultWriter.Format.JSON,
+                                                                    getJsonReport().toPath());
+        MainProgram.startAnalyse(pathStrings.toArray(new String[0]), settings);
+    }
+
+    /**
+     * Writes the measurements of the analysis to the report and the output of the task.
+     *
+     * @param metrics the measurements.
+     */
+    private void reportMetrics(Metrics metrics) {
+        getLogger().lifecycle("StaticAnalyser finished in {} ms, see {}",
+                              metrics.getWallTimeNanos() / 1_000_000, getMetricsReport());
+        for (StageMetrics stage : metrics.getStages()) {
+            getLogger().info("  {}", stage);
+        }
+
+        try {
+            metrics.writeReport(getMetricsReport().toPath());
+        } catch (IOException e) {
+            // The metrics are only informative, the result of the analysis is what matters.
+            getLogger().warn("Unable to write the metrics report", e);
+        }
+    }
+
+    private SourceSet getMainSourceSet() {
+        return getProject().getConvention().getPlugin(JavaPluginConvention.class).getSourceSets()
+                           .getByName("main");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package plugin;
+
+import tool.util.ParallelTasks;
+
+/**
+ * The settings of the plugin, configured through the "staticAnalyser" block of a build script.
+ */
+@SuppressWarnings("PMD.DataClass")
+// This is what Gradle expects an extension to look like, it is only used to carry settings.
+public class AnalyserExtension {
+
+    private int threads = ParallelTasks.defaultThreads();
+
+    public AnalyserExtension() {
+        super();
+    }
+
+    /**
+     * The number of threads to parse the source files and to verify the pattern groups with,
+     * defaults to the number of processors.
+     *
+     * @return the number of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads to parse the source files and to verify the pattern groups with,
+     * 1 runs everything on a single thread.
+     *
+     * @param threads the number of threads.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
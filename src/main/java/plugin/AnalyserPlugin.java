@@ -18,6 +18,7 @@ public class AnalyserPlugin implements Plugin<Project> {
 
     @Override
     public void apply(Project project) {
+        project.getExtensions().create("staticAnalyser", AnalyserExtension.class);
         project.getTasks().create("Analyse", AnalyseTask.class);
         // Make the Analyse task a dependency for the check task so that it
         // is run on every build.
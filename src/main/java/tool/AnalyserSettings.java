@@ -0,0 +1,140 @@
+package tool;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+import tool.feedback.ResultWriter;
+import tool.metrics.Metrics;
+import tool.util.ParallelTasks;
+
+/**
+ * The settings for a single run of the analyser. Settings are changed by creating a modified copy
+ * with one of the with-methods.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class AnalyserSettings {
+
+    private final int threads;
+    private final Path cacheDirectory;
+    private final Consumer<Metrics> metricsListener;
+    private final Path reportFile;
+    private final Map<ResultWriter.Format, Path> resultFiles;
+
+    private AnalyserSettings(
+        int threads, Path cacheDirectory, Consumer<Metrics> metricsListener, Path reportFile,
+        Map<ResultWriter.Format, Path> resultFiles) {
+        this.threads = threads;
+        this.cacheDirectory = cacheDirectory;
+        this.metricsListener = metricsListener;
+        this.reportFile = reportFile;
+        this.resultFiles = resultFiles;
+    }
+
+    /**
+     * The default settings, using all processors, no cache, no metrics listener and no report or
+     * result files.
+     *
+     * @return the default settings.
+     */
+    public static AnalyserSettings defaults() {
+        return new AnalyserSettings(
+            ParallelTasks.defaultThreads(), null, null, null, Collections.emptyMap());
+    }
+
+    /**
+     * Returns a copy of these settings with the given number of threads.
+     *
+     * @param threads the number of threads to use, 1 or less runs everything on one thread.
+     *
+     * @return the new settings.
+     */
+    public AnalyserSettings withThreads(int threads) {
+        return new AnalyserSettings(
+            threads, cacheDirectory, metricsListener, reportFile, resultFiles);
+    }
+
+    /**
+     * Returns a copy of these settings that stores the results of the analysis in the given
+     * directory, so that later runs only have to verify what has changed.
+     *
+     * @param cacheDirectory the directory to store the cache in.
+     *
+     * @return the new settings.
+     */
+    public AnalyserSettings withCacheDirectory(Path cacheDirectory) {
+        return new AnalyserSettings(
+            threads, cacheDirectory, metricsListener, reportFile, resultFiles);
+    }
+
+    /**
+     * Returns a copy of these settings that gives the measurements of the analysis to the listener
+     * when it is done, also if it fails the build.
+     *
+     * @param metricsListener the listener to give the measurements to.
+     *
+     * @return the new settings.
+     */
+    public AnalyserSettings withMetricsListener(Consumer<Metrics> metricsListener) {
+        return new AnalyserSettings(
+            threads, cacheDirectory, metricsListener, reportFile, resultFiles);
+    }
+
+    /**
+     * Returns a copy of these settings that writes the full feedback of the analysis to the given
+     * file. The build then only fails with a summary of the errors, which can be read in full in
+     * the file.
+     *
+     * @param reportFile the file to write the feedback to.
+     *
+     * @return the new settings.
+     */
+    public AnalyserSettings withReportFile(Path reportFile) {
+        return new AnalyserSettings(
+            threads, cacheDirectory, metricsListener, reportFile, resultFiles);
+    }
+
+    /**
+     * Returns a copy of these settings that also writes the errors found to the given file in the
+     * given format, each pattern group is written as soon as it has been verified.
+     *
+     * @param format the format to write the errors in.
+     * @param file   the file to write the errors to.
+     *
+     * @return the new settings.
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    // The copy is never changed once the settings have been created.
+    public AnalyserSettings withResultFile(ResultWriter.Format format, Path file) {
+        Map<ResultWriter.Format, Path> files = new EnumMap<>(ResultWriter.Format.class);
+        files.putAll(resultFiles);
+        files.put(format, file);
+        return new AnalyserSettings(threads, cacheDirectory, metricsListener, reportFile,
+                                    Collections.unmodifiableMap(files));
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public Optional<Path> getCacheDirectory() {
+        return Optional.ofNullable(cacheDirectory);
+    }
+
+    public Optional<Consumer<Metrics>> getMetricsListener() {
+        return Optional.ofNullable(metricsListener);
+    }
+
+    public Optional<Path> getReportFile() {
+        return Optional.ofNullable(reportFile);
+    }
+
+    public Map<ResultWriter.Format, Path> getResultFiles() {
+        return resultFiles;
+    }
+}
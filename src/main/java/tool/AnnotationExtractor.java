@@ -48,23 +48,34 @@ class AnnotationExtractor {
         List<ClassOrInterfaceDeclaration> annotationHolders) {
 
         for (ClassOrInterfaceDeclaration annotationHolder : annotationHolders) {
-            Optional<AnnotationExpr> annotation = annotationHolder.getAnnotationByName(
-                "DesignPattern");
-            if (annotation.isPresent()) {
-                NormalAnnotationExpr annExpr = annotation.get().asNormalAnnotationExpr();
-                for (Pattern pattern : getPatternsFromAnnotation(annExpr)) {
-                    if (patternClassMap.containsKey(pattern)) {
-                        patternClassMap.get(pattern).add(annotationHolder);
-                    } else {
-                        List<ClassOrInterfaceDeclaration> classes = new ArrayList<>();
-                        classes.add(annotationHolder);
-                        patternClassMap.put(pattern, classes);
-                    }
+            for (Pattern pattern : getPatterns(annotationHolder)) {
+                if (patternClassMap.containsKey(pattern)) {
+                    patternClassMap.get(pattern).add(annotationHolder);
+                } else {
+                    List<ClassOrInterfaceDeclaration> classes = new ArrayList<>();
+                    classes.add(annotationHolder);
+                    patternClassMap.put(pattern, classes);
                 }
             }
         }
     }
 
+    /**
+     * Returns the patterns that the given class or interface is annotated with.
+     *
+     * @param annotationHolder the class or interface that may have an Annotation.
+     *
+     * @return the patterns, or an empty list if it is not annotated.
+     */
+    public List<Pattern> getPatterns(ClassOrInterfaceDeclaration annotationHolder) {
+        Optional<AnnotationExpr> annotation = annotationHolder.getAnnotationByName(
+            "DesignPattern");
+        if (annotation.isPresent()) {
+            return getPatternsFromAnnotation(annotation.get().asNormalAnnotationExpr());
+        }
+        return new ArrayList<>();
+    }
+
     private List<Pattern> getPatternsFromAnnotation(NormalAnnotationExpr annotation) {
         NodeList<MemberValuePair> pairs = annotation.getPairs();
         List<Pattern> patterns = new ArrayList<>();
@@ -0,0 +1,79 @@
+package tool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * A cheap lexical check of whether a source file can contain a {@link DesignPattern} annotation,
+ * done on the raw bytes of the file so that files that can not contain one never have to be
+ * parsed.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+final class AnnotationPreFilter {
+
+    private static final byte[] NAME =
+        DesignPattern.class.getSimpleName().getBytes(StandardCharsets.US_ASCII);
+
+    private AnnotationPreFilter() {
+
+    }
+
+    /**
+     * Checks if the file contains the name of the annotation as a whole identifier. May give false
+     * positives (e.g. the name in a comment) but never false negatives.
+     *
+     * @param file the source file to check.
+     *
+     * @return true if the file has to be parsed.
+     */
+    public static boolean mayContainAnnotation(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < NAME.length) {
+                return false;
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return containsIdentifier(bytes, (int) size);
+        }
+    }
+
+    private static boolean containsIdentifier(MappedByteBuffer bytes, int size) {
+        int last = size - NAME.length;
+        for (int start = 0; start <= last; start++) {
+            if (matchesAt(bytes, start) && !isIdentifierPart(bytes, start - 1, size) &&
+                !isIdentifierPart(bytes, start + NAME.length, size)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAt(MappedByteBuffer bytes, int start) {
+        for (int i = 0; i < NAME.length; i++) {
+            if (bytes.get(start + i) != NAME[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the byte at the given index is an ASCII identifier character. Any other byte
+     * (including parts of multi-byte UTF-8 characters) is treated as a boundary, which can only
+     * cause a false positive.
+     */
+    private static boolean isIdentifierPart(MappedByteBuffer bytes, int index, int size) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        char character = (char) bytes.get(index);
+        return character < 128 && Character.isJavaIdentifierPart(character);
+    }
+}
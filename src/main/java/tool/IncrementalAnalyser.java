@@ -0,0 +1,316 @@
+package tool;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import tool.cache.AnalysisCache;
+import tool.cache.CachedFile;
+import tool.cache.CachedGroup;
+import tool.cache.Fingerprints;
+import tool.cache.TypeDependencies;
+import tool.designpatterns.Pattern;
+import tool.designpatterns.PatternGroup;
+import tool.designpatterns.PatternUtils;
+import tool.feedback.PatternGroupFeedback;
+import tool.metrics.Metrics;
+import tool.util.ParallelTasks;
+
+/**
+ * Runs the analysis using the results of earlier runs stored in an {@link AnalysisCache}. Only
+ * the files that have changed are parsed to find their annotations, and only the pattern groups
+ * whose members, or the files that the members depend on, have changed are verified again.
+ */
+@SuppressWarnings({"PMD.UseConcurrentHashMap", "PMD.AvoidInstantiatingObjectsInLoops",
+                   "PMD.ExcessiveImports"})
+// The maps are only used by the thread running the analysis, the parallel work is done elsewhere.
+// The analyser ties the parsing, the cache and the verification together, hence the imports.
+final class IncrementalAnalyser {
+
+    private static final String CACHE_FILE = "cache.json";
+
+    private final String[] paths;
+    private final int threads;
+    private final AnalysisCache cache;
+    private final ParserConfiguration config;
+    private final Map<Path, Optional<String>> hashes;
+    private final Map<Path, CachedFile> entries;
+    private final Map<Path, List<ClassOrInterfaceDeclaration>> parsed;
+
+    /**
+     * Creates an analyser for the given source directories that keeps its cache in the cache
+     * directory of the settings.
+     *
+     * @param paths    the source directories to analyse.
+     * @param settings the settings, must have a cache directory.
+     */
+    /* default */ IncrementalAnalyser(String[] paths, AnalyserSettings settings) {
+        this.paths = paths.clone();
+        this.threads = settings.getThreads();
+        this.cache = AnalysisCache.load(settings.getCacheDirectory().orElseThrow(
+            () -> new IllegalArgumentException("No cache directory")).resolve(CACHE_FILE));
+        // One symbol solver for the entire project.
+        this.config = Metrics.measureInCurrent(
+            "configure", () -> SolveThatSymbolSolver.getConfig(Arrays.asList(paths)));
+        this.hashes = new HashMap<>();
+        this.entries = new HashMap<>();
+        this.parsed = new HashMap<>();
+    }
+
+    /**
+     * Runs the analysis and updates the cache.
+     *
+     * @return the feedback of every pattern group that is used, in declaration order.
+     */
+    public List<PatternGroupFeedback> analyse() {
+        return analyse(feedback -> {
+        });
+    }
+
+    /**
+     * Runs the analysis and updates the cache, giving the feedback of each group to the listener
+     * as soon as it is known. The feedback of the groups that are up to date is given first.
+     *
+     * @param onVerified called with the feedback of each group, possibly from several threads.
+     *
+     * @return the feedback of every pattern group that is used, in declaration order.
+     */
+    @SuppressWarnings("PMD.SystemPrintln")
+    public List<PatternGroupFeedback> analyse(Consumer<PatternGroupFeedback> onVerified) {
+        List<Path> allFiles = new ArrayList<>();
+        for (String path : paths) {
+            allFiles.addAll(ProjectParser.findSourceFiles(path));
+        }
+
+        List<Optional<String>> fileHashes = Metrics.measureInCurrent(
+            "hash", () -> ParallelTasks.map(allFiles, this::hash, threads));
+        for (int i = 0; i < allFiles.size(); i++) {
+            hashes.put(allFiles.get(i), fileHashes.get(i));
+        }
+        updateFileEntries(allFiles);
+        cache.retainFiles(allFiles);
+
+        Map<PatternGroup, List<String>> members = findMembers(allFiles);
+        Map<PatternGroup, PatternGroupFeedback> feedbacks = new EnumMap<>(PatternGroup.class);
+        Set<PatternGroup> stale = EnumSet.noneOf(PatternGroup.class);
+        for (PatternGroup group : PatternGroup.values()) {
+            Optional<CachedGroup> cached = cache.getGroup(group);
+            if (members.containsKey(group)) {
+                if (cached.isPresent() && isUpToDate(cached.get(), members.get(group))) {
+                    feedbacks.put(group, cached.get().getFeedback());
+                    onVerified.accept(cached.get().getFeedback());
+                } else {
+                    stale.add(group);
+                }
+            } else {
+                cache.removeGroup(group);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            feedbacks.putAll(Metrics.measureInCurrent(
+                "verify", () -> verify(allFiles, stale, members, onVerified)));
+        }
+
+        Metrics.runInCurrent("save", () -> {
+            try {
+                cache.save();
+            } catch (IOException e) {
+                // The analysis is still correct, the next run just has to do more work.
+                System.err.println("Unable to save the analysis cache");
+                e.printStackTrace();
+            }
+        });
+
+        return new ArrayList<>(feedbacks.values());
+    }
+
+    /**
+     * Parses the files that have changed since the last run and stores the
+     * annotations found in them.
+     */
+    private void updateFileEntries(List<Path> files) {
+        List<Path> changed = new ArrayList<>();
+        for (Path file : files) {
+            Optional<CachedFile> cached = hashes.get(file).flatMap(
+                hash -> cache.getFile(file, hash));
+            if (cached.isPresent()) {
+                entries.put(file, cached.get());
+            } else {
+                changed.add(file);
+            }
+        }
+
+        parse(changed);
+        Metrics.runInCurrent("extract", () -> extractAnnotations(changed));
+    }
+
+    /**
+     * Stores the annotations found in the given files, which must have been parsed.
+     */
+    private void extractAnnotations(List<Path> changed) {
+        AnnotationExtractor extractor = new AnnotationExtractor();
+        for (Path file : changed) {
+            Map<String, List<Pattern>> annotated = new LinkedHashMap<>();
+            for (ClassOrInterfaceDeclaration classOrI : parsed.get(file)) {
+                List<Pattern> patterns = extractor.getPatterns(classOrI);
+                if (!patterns.isEmpty()) {
+                    annotated.put(getName(classOrI), patterns);
+                }
+            }
+
+            CachedFile entry = new CachedFile(hashes.get(file).orElse(""), annotated);
+            entries.put(file, entry);
+            if (hashes.get(file).isPresent()) {
+                cache.putFile(file, entry);
+            }
+        }
+    }
+
+    /**
+     * Describes the members of every pattern group, in the order they are found in the files.
+     */
+    private Map<PatternGroup, List<String>> findMembers(List<Path> files) {
+        Map<PatternGroup, List<String>> members = new EnumMap<>(PatternGroup.class);
+        for (Path file : files) {
+            entries.get(file).getAnnotatedClasses().forEach((name, patterns) -> {
+                Map<PatternGroup, List<Pattern>> byGroup = new EnumMap<>(PatternGroup.class);
+                patterns.forEach(pattern -> byGroup.computeIfAbsent(
+                    PatternUtils.patternGroupFromPattern(pattern), group -> new ArrayList<>())
+                                                   .add(pattern));
+                byGroup.forEach((group, groupPatterns) -> members.computeIfAbsent(
+                    group, key -> new ArrayList<>()).add(name + ":" + groupPatterns));
+            });
+        }
+        return members;
+    }
+
+    private boolean isUpToDate(CachedGroup cached, List<String> members) {
+        if (!cached.getMembers().equals(members)) {
+            return false;
+        }
+
+        for (Map.Entry<String, String> dependency : cached.getDependencies().entrySet()) {
+            Optional<String> hash = hashes.computeIfAbsent(
+                Paths.get(dependency.getKey()), this::hash);
+            if (!hash.isPresent() || !hash.get().equals(dependency.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifies the given groups, parsing all files with members in them first, and stores the
+     * results in the cache.
+     */
+    private Map<PatternGroup, PatternGroupFeedback> verify(
+        List<Path> files, Set<PatternGroup> stale, Map<PatternGroup, List<String>> members,
+        Consumer<PatternGroupFeedback> onVerified) {
+        AnnotationExtractor extractor = new AnnotationExtractor();
+        parse(files.stream().filter(
+            file -> !parsed.containsKey(file) && hasMemberOf(entries.get(file), stale))
+                       .collect(Collectors.toList()));
+        // Extracted in file order, so the classes are verified in the same order as when
+        // everything is parsed.
+        files.forEach(
+            file -> extractor.findAnnotations(parsed.getOrDefault(file, new ArrayList<>())));
+
+        Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> groupMaps =
+            new EnumMap<>(PatternGroup.class);
+        extractor.getPatternClassMap().forEach((pattern, classes) -> {
+            PatternGroup group = PatternUtils.patternGroupFromPattern(pattern);
+            if (stale.contains(group)) {
+                groupMaps.computeIfAbsent(group, key -> new HashMap<>()).put(pattern, classes);
+            }
+        });
+
+        Map<PatternGroup, PatternGroupFeedback> feedbacks = new EnumMap<>(PatternGroup.class);
+        VerificationScheduler.verifyAll(groupMaps, threads, onVerified).forEach(
+            feedback -> feedbacks.put(feedback.getPatternGroup(), feedback));
+        groupMaps.forEach((group, patternMap) -> {
+            PatternGroupFeedback feedback = feedbacks.get(group);
+
+            Optional<Map<String, String>> dependencies = findDependencies(patternMap);
+            if (dependencies.isPresent()) {
+                cache.putGroup(
+                    group, new CachedGroup(members.get(group), dependencies.get(), feedback));
+            } else {
+                cache.removeGroup(group);
+            }
+        });
+        // The symbol solver is kept for the next analysis, what it resolved in this one is not.
+        ProjectSymbolResolver.clearCache(config);
+        return feedbacks;
+    }
+
+    private static boolean hasMemberOf(CachedFile entry, Set<PatternGroup> groups) {
+        return entry.getAnnotatedClasses().values().stream().flatMap(List::stream).anyMatch(
+            pattern -> groups.contains(PatternUtils.patternGroupFromPattern(pattern)));
+    }
+
+    /**
+     * Finds the files, and their hashes, that the verification of the classes depended on.
+     *
+     * @return the dependencies, or empty if they could not all be found.
+     */
+    private Optional<Map<String, String>> findDependencies(
+        Map<Pattern, List<ClassOrInterfaceDeclaration>> patternMap) {
+        Map<String, String> dependencies = new TreeMap<>();
+        for (List<ClassOrInterfaceDeclaration> classes : patternMap.values()) {
+            for (ClassOrInterfaceDeclaration classOrI : classes) {
+                Optional<Set<Path>> files = TypeDependencies.findFiles(classOrI);
+                if (!files.isPresent()) {
+                    return Optional.empty();
+                }
+                for (Path file : files.get()) {
+                    Optional<String> hash = hashes.computeIfAbsent(file, this::hash);
+                    if (!hash.isPresent()) {
+                        return Optional.empty();
+                    }
+                    dependencies.put(file.toString(), hash.get());
+                }
+            }
+        }
+        return Optional.of(dependencies);
+    }
+
+    private void parse(List<Path> files) {
+        files.forEach(file -> parsed.put(file, new ArrayList<>()));
+        List<ClassOrInterfaceDeclaration> annotated = Metrics.measureInCurrent(
+            "parse", () -> ProjectParser.findAnnotatedClassesAndInterfaces(files, config, threads));
+        for (ClassOrInterfaceDeclaration classOrI : annotated) {
+            classOrI.findCompilationUnit().flatMap(CompilationUnit::getStorage).ifPresent(
+                storage -> parsed.get(storage.getPath()).add(classOrI));
+        }
+    }
+
+    private Optional<String> hash(Path file) {
+        try {
+            return Optional.of(Fingerprints.hash(file));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String getName(ClassOrInterfaceDeclaration classOrI) {
+        return classOrI.getFullyQualifiedName().orElse(classOrI.getNameAsString());
+    }
+}
@@ -1,11 +1,20 @@
 package tool;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 
 import org.gradle.api.GradleException;
@@ -13,7 +22,11 @@ import tool.designpatterns.DesignPattern;
 import tool.designpatterns.Pattern;
 import tool.designpatterns.PatternGroup;
 import tool.designpatterns.PatternUtils;
+import tool.feedback.FeedbackWriter;
 import tool.feedback.PatternGroupFeedback;
+import tool.feedback.ResultWriter;
+import tool.metrics.Metrics;
+import tool.util.ParallelTasks;
 
 /**
  * The main entry point for the analysis.
@@ -21,6 +34,11 @@ import tool.feedback.PatternGroupFeedback;
 @DesignPattern(pattern = {Pattern.IMMUTABLE})
 public final class MainProgram {
 
+    /**
+     * The number of lines of feedback shown when the build fails and there is a report file.
+     */
+    private static final int SUMMARY_LINES = 100;
+
     private MainProgram() {
     }
 
@@ -40,14 +58,104 @@ public final class MainProgram {
      *
      * @param paths an array of paths to analyse.
      */
-    @SuppressWarnings("PMD.SystemPrintln")
     public static void startAnalyse(String[] paths) {
+        startAnalyse(paths, ParallelTasks.defaultThreads());
+    }
+
+    /**
+     * Main entrance point to the program.
+     *
+     * @param paths   an array of paths to analyse.
+     * @param threads the number of threads to parse the source files and to verify the pattern
+     *                groups with, 1 or less runs everything on this thread.
+     */
+    public static void startAnalyse(String[] paths, int threads) {
+        startAnalyse(paths, AnalyserSettings.defaults().withThreads(threads));
+    }
+
+    /**
+     * Main entrance point to the program.
+     *
+     * @param paths    an array of paths to analyse.
+     * @param settings the settings to run the analysis with.
+     */
+    public static void startAnalyse(String[] paths, AnalyserSettings settings) {
+        Metrics metrics = new Metrics();
+        List<ResultWriter> resultWriters = openResultWriters(settings);
+        Consumer<PatternGroupFeedback> onVerified = feedback -> resultWriters.forEach(
+            writer -> writer.write(feedback));
+        List<PatternGroupFeedback> feedbacks;
+        try {
+            feedbacks = metrics.measure("analyse", () -> {
+                if (settings.getCacheDirectory().isPresent()) {
+                    return new IncrementalAnalyser(paths, settings).analyse(onVerified);
+                }
+                return analyse(paths, settings.getThreads(), onVerified);
+            });
+        } finally {
+            resultWriters.forEach(ResultWriter::close);
+            metrics.finish();
+            settings.getMetricsListener().ifPresent(listener -> listener.accept(metrics));
+        }
+
+        List<PatternGroupFeedback> failingFeedbacks = new ArrayList<>();
+        feedbacks.forEach(feedback -> {
+            if (feedback.hasError()) {
+                failingFeedbacks.add(feedback);
+            }
+        });
+
+        Optional<Path> reportFile = settings.getReportFile();
+        if (reportFile.isPresent() && !writeReport(reportFile.get(), failingFeedbacks)) {
+            reportFile = Optional.empty();
+        }
+        if (!failingFeedbacks.isEmpty()) {
+            failBuild(failingFeedbacks, reportFile);
+        }
+    }
+
+    /**
+     * Opens a writer for every result file in the settings.
+     *
+     * @param settings the settings with the result files.
+     *
+     * @return the writers.
+     */
+    private static List<ResultWriter> openResultWriters(AnalyserSettings settings) {
+        List<ResultWriter> writers = new ArrayList<>();
+        for (Map.Entry<ResultWriter.Format, Path> file : settings.getResultFiles().entrySet()) {
+            try {
+                writers.add(ResultWriter.open(file.getValue(), file.getKey()));
+            } catch (IOException e) {
+                writers.forEach(ResultWriter::close);
+                throw new GradleException("Unable to write the results to " + file.getValue(), e);
+            }
+        }
+        return writers;
+    }
+
+    /**
+     * Parses the given paths and verifies every pattern group found in them.
+     *
+     * @param paths      an array of paths to analyse.
+     * @param threads    the number of threads to parse the source files and to verify the pattern
+     *                   groups with.
+     * @param onVerified called with the feedback of each group as soon as it is verified.
+     *
+     * @return the feedback of every pattern group.
+     */
+    private static List<PatternGroupFeedback> analyse(
+        String[] paths, int threads, Consumer<PatternGroupFeedback> onVerified) {
         AnnotationExtractor extracter = new AnnotationExtractor();
+        // One symbol solver for the entire project.
+        ParserConfiguration config = Metrics.measureInCurrent(
+            "configure", () -> SolveThatSymbolSolver.getConfig(Arrays.asList(paths)));
 
         for (String path : paths) {
-            List<ClassOrInterfaceDeclaration> annotationHolders =
-                ProjectParser.findAllClassesAndInterfaces(path);
-            extracter.findAnnotations(annotationHolders);
+            List<ClassOrInterfaceDeclaration> annotationHolders = Metrics.measureInCurrent(
+                "parse", () -> ProjectParser.findAnnotatedClassesAndInterfaces(
+                    ProjectParser.findSourceFiles(path), config, threads));
+            Metrics.runInCurrent("extract", () -> extracter.findAnnotations(annotationHolders));
         }
 
         Map<Pattern, List<ClassOrInterfaceDeclaration>> patternAnnotMap =
@@ -55,40 +163,60 @@ public final class MainProgram {
         Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> patternGroupMap =
             mapToMap(patternAnnotMap);
 
-        List<PatternGroupFeedback> feedbacks = new ArrayList<>();
-        for (Map.Entry<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> entry :
-            patternGroupMap
-            .entrySet()) {
-            PatternGroup group = entry.getKey();
-            Map<Pattern, List<ClassOrInterfaceDeclaration>> patternMap = entry.getValue();
-            PatternGroupFeedback verFeedback = group.getVerifier().verifyGroup(patternMap);
-            feedbacks.add(verFeedback);
-        }
+        List<PatternGroupFeedback> feedbacks = Metrics.measureInCurrent(
+            "verify", () -> VerificationScheduler.verifyAll(patternGroupMap, threads, onVerified));
+        // The symbol solver outlives the analysis, the nodes it resolved do not.
+        ProjectSymbolResolver.clearCache(config);
+        return feedbacks;
+    }
 
-        List<String> failingFeedbacks = new ArrayList<>();
-        feedbacks.forEach(feedback -> {
-            if (feedback.hasError()) {
-                failingFeedbacks.add(feedback.getFullMessage());
+    /**
+     * Streams the failing feedbacks to the report file, the report is empty if nothing failed.
+     *
+     * @param reportFile       the file to write the report to.
+     * @param failingFeedbacks the feedbacks of what went wrong.
+     *
+     * @return true if the report was written.
+     */
+    private static boolean writeReport(
+        Path reportFile, List<PatternGroupFeedback> failingFeedbacks) {
+        try {
+            Path directory = reportFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
             }
-        });
-
-        if (!failingFeedbacks.isEmpty()) {
-            failBuild(failingFeedbacks);
+            try (Writer writer = Files.newBufferedWriter(reportFile)) {
+                new FeedbackWriter(writer).writeAll(failingFeedbacks);
+            }
+            return true;
+        } catch (IOException e) {
+            // The full feedback is put in the build failure instead.
+            return false;
         }
     }
 
     /**
-     * Fails the build and prints the failing feedbacks into a nice message.
+     * Fails the build and prints the failing feedbacks into a nice message. When the feedbacks
+     * were written to a report only the first lines of them are shown.
      *
      * @param failingFeedbacks the feedbacks of what went wrong.
+     * @param reportFile       the report with all feedbacks, if it was written.
      */
-    private static void failBuild(List<String> failingFeedbacks) {
+    private static void failBuild(
+        List<PatternGroupFeedback> failingFeedbacks, Optional<Path> reportFile) {
         StringBuilder msg = new StringBuilder(100);
         msg.append("\n\nStaticAnalyser found the following errors: \n------------------\n");
-        failingFeedbacks.forEach(feedback -> {
-            msg.append(feedback);
-            msg.append("------------------\n");
-        });
+        FeedbackWriter writer = reportFile.isPresent() ? new FeedbackWriter(msg, SUMMARY_LINES) :
+                                new FeedbackWriter(msg);
+        try {
+            writer.writeAll(failingFeedbacks);
+        } catch (IOException e) {
+            // A StringBuilder does not throw.
+            throw new UncheckedIOException(e);
+        }
+        if (writer.isTruncated()) {
+            msg.append("...\nSee ").append(reportFile.get()).append(" for all errors.\n");
+        }
 
         throw new GradleException(msg.toString());
     }
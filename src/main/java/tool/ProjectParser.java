@@ -1,17 +1,27 @@
 package tool;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
 import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.utils.SourceRoot;
 
 import tool.designpatterns.DesignPattern;
 import tool.designpatterns.Pattern;
+import tool.util.DeclarationIds;
+import tool.util.ParallelTasks;
 
 /**
  * The class responsible for parsing a project, currently only converting to AST.
@@ -47,6 +57,182 @@ public final class ProjectParser {
 
         return classes;
     }
-}
 
+    /**
+     * Find all classes and Interfaces in a project found under a certain path, parsing the files
+     * using the given number of threads. The files are visited in path order, so the classes are
+     * always returned in the same order no matter the number of threads.
+     *
+     * @param sourcePath the root of the project
+     * @param threads    the number of parse threads (not verify threads), 1 or less for none.
+     *
+     * @return a list of {@link ClassOrInterfaceDeclaration}
+     */
+    public static List<ClassOrInterfaceDeclaration> findAllClassesAndInterfaces(
+        String sourcePath, int threads) {
+        // Enable symbolsolving.
+        ParserConfiguration config = SolveThatSymbolSolver.getConfig(sourcePath);
+        return parseClassesAndInterfaces(findSourceFiles(sourcePath), config, threads, false);
+    }
+
+    /**
+     * Like {@link #findAllClassesAndInterfaces(String, int)}, but only parses the files that may
+     * contain a {@link DesignPattern} annotation and only returns the annotated classes. The types
+     * declared in the other files are parsed by the symbol solver if, and when, they are needed.
+     *
+     * @param sourcePath the root of the project
+     * @param threads    the number of threads to parse with, 1 or less parses on this thread.
+     *
+     * @return a list of {@link ClassOrInterfaceDeclaration}
+     */
+    public static List<ClassOrInterfaceDeclaration> findAnnotatedClassesAndInterfaces(
+        String sourcePath, int threads) {
+        // Enable symbolsolving.
+        ParserConfiguration config = SolveThatSymbolSolver.getConfig(sourcePath);
+        return parseClassesAndInterfaces(findSourceFiles(sourcePath), config, threads, true);
+    }
+
+    /**
+     * Like {@link #findAnnotatedClassesAndInterfaces(String, int)}, but only looks at the given
+     * files (found with {@link #findSourceFiles(String)}) using an existing configuration.
+     *
+     * @param files   the files to parse, in the order the classes should be returned.
+     * @param config  the configuration, with symbol solving, to parse with.
+     * @param threads the number of threads to parse with, 1 or less parses on this thread.
+     *
+     * @return a list of {@link ClassOrInterfaceDeclaration}
+     */
+    public static List<ClassOrInterfaceDeclaration> findAnnotatedClassesAndInterfaces(
+        List<Path> files, ParserConfiguration config, int threads) {
+        return parseClassesAndInterfaces(files, config, threads, true);
+    }
+
+    /**
+     * Finds all .java files under the root of a project, sorted by path. Directories that can not
+     * be packages are skipped, as they are by {@link SourceRoot}.
+     *
+     * @param sourcePath the root of the project
+     *
+     * @return the absolute paths of the files.
+     */
+    public static List<Path> findSourceFiles(String sourcePath) {
+        try {
+            return findJavaFiles(Paths.get(sourcePath).toAbsolutePath().normalize());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Parses the files and scans each of them as soon as it is parsed. When only the annotated
+     * classes are wanted, the compilation units without any are not referenced after their scan,
+     * so the memory used is proportional to the annotated code rather than to all parsed code.
+     */
+    private static List<ClassOrInterfaceDeclaration> parseClassesAndInterfaces(
+        List<Path> files, ParserConfiguration config, int threads, boolean onlyAnnotated) {
+        // A JavaParser is not thread safe, so every file gets its own (they are cheap to create).
+        List<List<ClassOrInterfaceDeclaration>> perFile = ParallelTasks.map(files, file -> {
+            List<ClassOrInterfaceDeclaration> found = new ArrayList<>();
+            if (!onlyAnnotated || mayContainAnnotation(file)) {
+                parseFile(file, config).ifPresent(compilationUnit -> found.addAll(
+                    findClassesAndInterfaces(compilationUnit, onlyAnnotated)));
+            }
+            return found;
+        }, threads);
+
+        List<ClassOrInterfaceDeclaration> classes = new ArrayList<>();
+        perFile.forEach(classes::addAll);
+        return classes;
+    }
+
+    private static List<ClassOrInterfaceDeclaration> findClassesAndInterfaces(
+        CompilationUnit compilationUnit, boolean onlyAnnotated) {
+        List<ClassOrInterfaceDeclaration> found = compilationUnit.findAll(
+            ClassOrInterfaceDeclaration.class);
+        if (onlyAnnotated) {
+            found.removeIf(classOrI -> !classOrI.getAnnotationByName(
+                DesignPattern.class.getSimpleName()).isPresent());
+        }
+        // Numbered while only this thread knows the classes, the verifiers group them by number.
+        found.forEach(DeclarationIds::number);
+        return found;
+    }
+
+    private static boolean mayContainAnnotation(Path file) {
+        try {
+            return AnnotationPreFilter.mayContainAnnotation(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    /**
+     * Parses a single file, skipping it if it could not be parsed (just like {@link
+     * SourceRoot#tryToParse()} does).
+     *
+     * @param file   the file to parse.
+     * @param config the configuration to parse with.
+     *
+     * @return the compilation unit, or empty if the file could not be parsed.
+     */
+    private static Optional<CompilationUnit> parseFile(
+        Path file, ParserConfiguration config) {
+        try {
+            ParseResult<CompilationUnit> result = new JavaParser(config).parse(file);
+            if (result.isSuccessful()) {
+                return result.getResult();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.empty();
+    }
+
+    private static List<Path> findJavaFiles(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(file -> file.toString().endsWith(".java"))
+                       .filter(Files::isRegularFile)
+                       .filter(file -> isInPackageDirectory(root, file))
+                       .sorted()
+                       .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Checks that every directory between the root and the file is a valid package name.
+     *
+     * @param root the source root.
+     * @param file the file to check.
+     *
+     * @return true if every directory in between is a java identifier that is not hidden.
+     */
+    private static boolean isInPackageDirectory(Path root, Path file) {
+        Path parent = root.relativize(file).getParent();
+        if (parent == null) {
+            return true;
+        }
+        for (Path dir : parent) {
+            String name = dir.toString();
+            if (name.charAt(0) == '.' || !isJavaIdentifier(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isJavaIdentifier(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,258 @@
+package tool;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.SymbolResolver;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+
+import tool.cache.ResolvedFiles;
+import tool.metrics.Metrics;
+
+/**
+ * A symbol resolver that can be shared by verifiers running in different threads. The symbol
+ * solver of JavaParser keeps caches that are not thread safe (both its own and in the data of the
+ * nodes), so symbols are resolved, and what they resolved to is used (see {@link #withLock}), one
+ * at a time while holding the lock of the {@link ProjectTypeSolver}. What a node resolves to is
+ * kept in a {@link ResolutionCache}, as is whether it could be resolved at all for {@link
+ * Resolution}, and the files it was resolved into in {@link ResolvedFiles}. Every resolution is
+ * counted towards the stage of the analysis it is done in, see {@link Metrics}.
+ */
+public final class ProjectSymbolResolver implements SymbolResolver {
+
+    /**
+     * The number of resolved nodes kept by default, enough for the nodes the verifiers of a large
+     * project resolve more than once.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+
+    private final SymbolResolver delegate;
+    private final Object lock;
+    private final ResolutionCache cache;
+    private final TypeHierarchy hierarchy;
+    private final ResolvedFiles resolvedFiles;
+
+    /**
+     * Creates a new resolver that resolves symbols using the given type solver.
+     *
+     * @param typeSolver the type solver of the project.
+     */
+    public ProjectSymbolResolver(ProjectTypeSolver typeSolver) {
+        this(typeSolver, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new resolver that resolves symbols using the given type solver and keeps at most
+     * the given number of resolved nodes.
+     *
+     * @param typeSolver the type solver of the project.
+     * @param cacheSize  the number of resolved nodes to keep at most.
+     */
+    public ProjectSymbolResolver(ProjectTypeSolver typeSolver, int cacheSize) {
+        this.delegate = new JavaSymbolSolver(typeSolver);
+        this.lock = typeSolver.getLock();
+        this.cache = new ResolutionCache(cacheSize);
+        this.hierarchy = new TypeHierarchy(lock);
+        this.resolvedFiles = new ResolvedFiles();
+        // Only the thread resolving a node holds the lock, other threads solving types are not
+        // resolving anything.
+        typeSolver.setOnSolved(declaration -> {
+            if (Thread.holdsLock(lock)) {
+                resolvedFiles.recordSolved(declaration);
+            }
+        });
+    }
+
+    /**
+     * Runs something that uses the symbol solver outside of the methods of this class (e.g. finding
+     * the ancestors of a resolved type) while holding the lock of the resolver of the given node.
+     *
+     * @param node   a node in the compilation unit the action works on.
+     * @param action the action to run.
+     * @param <T>    the type of the result.
+     *
+     * @return the result of the action.
+     */
+    public static <T> T withLock(Node node, Supplier<T> action) {
+        Optional<ProjectSymbolResolver> resolver = findResolver(node);
+        if (resolver.isPresent()) {
+            synchronized (resolver.get().lock) {
+                return action.get();
+            }
+        }
+        return action.get();
+    }
+
+    /**
+     * Finds the files that the given files depend on through the symbols that the resolver of the
+     * node resolved in them, see {@link ResolvedFiles#findDependencies}.
+     *
+     * @param node  a node in the compilation unit whose resolver to ask.
+     * @param files the files to start from.
+     *
+     * @return the given files and the files they depend on, or empty if they are unknown. Only
+     *     the given files if the node was not parsed with a project resolver.
+     */
+    public static Optional<Set<Path>> findDependencies(Node node, Collection<Path> files) {
+        Optional<ProjectSymbolResolver> resolver = findResolver(node);
+        if (resolver.isPresent()) {
+            synchronized (resolver.get().lock) {
+                return resolver.get().resolvedFiles.findDependencies(files);
+            }
+        }
+        return Optional.of(new HashSet<>(files));
+    }
+
+    /**
+     * Forgets what the nodes were resolved to by the resolver of the configuration, if it is a
+     * project resolver, and its {@link TypeHierarchy}. Called when an analysis is done, as the
+     * results refer to its nodes.
+     *
+     * @param config the configuration that the project was parsed with.
+     */
+    public static void clearCache(ParserConfiguration config) {
+        config.getSymbolResolver().filter(ProjectSymbolResolver.class::isInstance).map(
+            ProjectSymbolResolver.class::cast).ifPresent(resolver -> {
+                synchronized (resolver.lock) {
+                    resolver.cache.clear();
+                    resolver.hierarchy.clear();
+                }
+            });
+    }
+
+    /**
+     * Returns the resolver of the compilation unit of the node, if it was parsed with one.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // Only the hierarchy needs to find the resolver of a node.
+    /* default */ static Optional<ProjectSymbolResolver> findResolver(Node node) {
+        return node.findCompilationUnit()
+                   .filter(unit -> unit.containsData(Node.SYMBOL_RESOLVER_KEY))
+                   .map(unit -> unit.getData(Node.SYMBOL_RESOLVER_KEY))
+                   .filter(ProjectSymbolResolver.class::isInstance)
+                   .map(ProjectSymbolResolver.class::cast);
+    }
+
+    /**
+     * Returns the hierarchy of the types resolved by this resolver.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // The verifiers get the hierarchy through TypeHierarchy.forNode.
+    /* default */ TypeHierarchy getHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * The number of resolutions that were answered by the cache.
+     *
+     * @return the number of hits.
+     */
+    public long getCacheHits() {
+        synchronized (lock) {
+            return cache.getHits();
+        }
+    }
+
+    /**
+     * The number of resolutions that had to be done by the symbol solver.
+     *
+     * @return the number of misses.
+     */
+    public long getCacheMisses() {
+        synchronized (lock) {
+            return cache.getMisses();
+        }
+    }
+
+    @Override
+    public <T> T resolveDeclaration(Node node, Class<T> resultClass) {
+        Metrics.countResolve();
+        synchronized (lock) {
+            return cache.get(ResolutionCache.Kind.DECLARATION, node, resultClass,
+                () -> resolvedFiles.record(node,
+                    () -> delegate.resolveDeclaration(node, resultClass)));
+        }
+    }
+
+    @Override
+    public <T> T toResolvedType(Type javaparserType, Class<T> resultClass) {
+        Metrics.countResolve();
+        synchronized (lock) {
+            return cache.get(ResolutionCache.Kind.TYPE, javaparserType, resultClass,
+                () -> resolvedFiles.record(javaparserType,
+                    () -> delegate.toResolvedType(javaparserType, resultClass)));
+        }
+    }
+
+    @Override
+    public ResolvedType calculateType(Expression expression) {
+        Metrics.countResolve();
+        synchronized (lock) {
+            return cache.get(ResolutionCache.Kind.EXPRESSION_TYPE, expression, ResolvedType.class,
+                () -> resolvedFiles.record(expression, () -> delegate.calculateType(expression)));
+        }
+    }
+
+    /**
+     * Resolves the declaration of a node without throwing, see {@link Resolution}. That the node
+     * cannot be resolved is remembered as well.
+     *
+     * @param node        the node to resolve.
+     * @param resultClass the class of the declaration.
+     * @param <T>         the type of the declaration.
+     *
+     * @return the declaration, or empty if the node cannot be resolved.
+     */
+    public <T> Optional<T> findDeclaration(Node node, Class<T> resultClass) {
+        Metrics.countResolve();
+        synchronized (lock) {
+            return cache.find(ResolutionCache.Kind.DECLARATION, node, resultClass,
+                () -> resolvedFiles.record(node,
+                    () -> delegate.resolveDeclaration(node, resultClass)));
+        }
+    }
+
+    /**
+     * Resolves a type without throwing, see {@link Resolution}. That the type cannot be resolved
+     * is remembered as well.
+     *
+     * @param javaparserType the type to resolve.
+     * @param resultClass    the class of the resolved type.
+     * @param <T>            the type of the resolved type.
+     *
+     * @return the resolved type, or empty if it cannot be resolved.
+     */
+    public <T> Optional<T> findType(Type javaparserType, Class<T> resultClass) {
+        Metrics.countResolve();
+        synchronized (lock) {
+            return cache.find(ResolutionCache.Kind.TYPE, javaparserType, resultClass,
+                () -> resolvedFiles.record(javaparserType,
+                    () -> delegate.toResolvedType(javaparserType, resultClass)));
+        }
+    }
+
+    /**
+     * Calculates the type of an expression without throwing, see {@link Resolution}. That the type
+     * cannot be calculated is remembered as well.
+     *
+     * @param expression the expression.
+     *
+     * @return the type, or empty if it cannot be calculated.
+     */
+    public Optional<ResolvedType> findExpressionType(Expression expression) {
+        Metrics.countResolve();
+        synchronized (lock) {
+            return cache.find(ResolutionCache.Kind.EXPRESSION_TYPE, expression, ResolvedType.class,
+                () -> resolvedFiles.record(expression, () -> delegate.calculateType(expression)));
+        }
+    }
+}
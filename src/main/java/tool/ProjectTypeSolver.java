@@ -0,0 +1,139 @@
+package tool;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+/**
+ * A type solver for an entire project that remembers the result of every type it has solved, or
+ * failed to solve, so that a type is only looked up once per run no matter how many verifiers ask
+ * for it. The number of remembered types is bounded, the least recently used ones are forgotten
+ * first. A solved type keeps the compilation unit it was declared in alive, so they are only
+ * remembered softly and the garbage collector may forget them when memory runs low.
+ *
+ * <p>It is safe to use from multiple threads. The solvers it delegates to are not, so types that
+ * have not been solved before are solved one at a time while holding {@link #getLock()}.</p>
+ */
+public final class ProjectTypeSolver implements TypeSolver {
+
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final TypeSolver delegate;
+    private final Object lock;
+    private final Map<String, SoftReference<SymbolReference<ResolvedReferenceTypeDeclaration>>>
+        solved;
+    private TypeSolver parent;
+    private Consumer<ResolvedReferenceTypeDeclaration> onSolved;
+
+    /**
+     * Creates a new solver that remembers a default number of types, see {@link
+     * #ProjectTypeSolver(TypeSolver, int)}.
+     *
+     * @param delegate the solver to solve the types that are not remembered.
+     */
+    public ProjectTypeSolver(TypeSolver delegate) {
+        this(delegate, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new solver that solves types using the given solver. The given solver gets this
+     * solver as its parent, so that the types it solves while solving a type are remembered too.
+     *
+     * @param delegate  the solver to solve the types that are not remembered, must not have a
+     *                  parent.
+     * @param cacheSize the maximum number of types to remember.
+     */
+    public ProjectTypeSolver(TypeSolver delegate, int cacheSize) {
+        this.delegate = delegate;
+        this.lock = new Object();
+        this.solved = Collections.synchronizedMap(new LruMap<>(cacheSize));
+        this.onSolved = declaration -> {
+        };
+        delegate.setParent(this);
+    }
+
+    /**
+     * The lock that is held while the delegate solver is used. Anything else that uses the
+     * delegate, or the (not thread safe) declarations it creates, should hold it as well.
+     *
+     * @return the lock.
+     */
+    public Object getLock() {
+        return lock;
+    }
+
+    /**
+     * Sets what to tell about every type that is solved, remembered or not, e.g. to record what
+     * the resolution of a node depended on. It is told on the thread that asked for the type.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // Only the symbol resolver of the project listens to the solved types.
+    /* default */ void setOnSolved(Consumer<ResolvedReferenceTypeDeclaration> onSolved) {
+        this.onSolved = onSolved;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> reference = getSolved(name);
+        if (reference == null) {
+            synchronized (lock) {
+                // Another thread may have solved it while we were waiting.
+                reference = getSolved(name);
+                if (reference == null) {
+                    reference = delegate.tryToSolveType(name);
+                    solved.put(name, new SoftReference<>(reference));
+                }
+            }
+        }
+        if (reference.isSolved()) {
+            onSolved.accept(reference.getCorrespondingDeclaration());
+        }
+        return reference;
+    }
+
+    /**
+     * The remembered result of solving the type.
+     *
+     * @return the result, or null if it has not been solved or has been forgotten.
+     */
+    private SymbolReference<ResolvedReferenceTypeDeclaration> getSolved(String name) {
+        SoftReference<SymbolReference<ResolvedReferenceTypeDeclaration>> reference = solved.get(
+            name);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * A map that removes the least recently used entry when it grows beyond its maximum size.
+     */
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+        private final int maxSize;
+
+        /* default */ LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package tool;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * What a node resolved to, and whether it is declared in the project, in a library, or could not
+ * be resolved at all. The symbol solver throws an exception for every symbol it cannot resolve,
+ * which is slow when the verifiers ask about the same symbols over and over, so a node that cannot
+ * be resolved is remembered by its {@link ProjectSymbolResolver}. Anything but the name of what
+ * the node resolved to is asked for through {@link #map}, which holds the lock of the resolver.
+ *
+ * @param <T> the type of what the node resolved to.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class Resolution<T> {
+
+    /**
+     * Where the resolved symbol is declared.
+     */
+    public enum Kind {
+        /**
+         * In the source code of the project.
+         */
+        IN_PROJECT,
+        /**
+         * In the JDK or a library.
+         */
+        EXTERNAL,
+        /**
+         * Unknown, the symbol could not be resolved.
+         */
+        UNSOLVABLE
+    }
+
+    private final Node node;
+    private final Kind kind;
+    private final Optional<T> resolved;
+
+    private Resolution(Node node, Kind kind, Optional<T> resolved) {
+        this.node = node;
+        this.kind = kind;
+        this.resolved = resolved;
+    }
+
+    /**
+     * Resolves the method that a method call calls.
+     *
+     * @param call the method call.
+     *
+     * @return the resolution of the called method.
+     */
+    public static Resolution<ResolvedMethodDeclaration> ofCall(MethodCallExpr call) {
+        return resolve(call,
+            resolver -> resolver.findDeclaration(call, ResolvedMethodDeclaration.class),
+            call::resolve, Resolution::isDeclaredInProject);
+    }
+
+    /**
+     * Resolves the method that a method reference refers to.
+     *
+     * @param reference the method reference.
+     *
+     * @return the resolution of the referenced method.
+     */
+    public static Resolution<ResolvedMethodDeclaration> ofMethodReference(
+        MethodReferenceExpr reference) {
+        return resolve(reference,
+            resolver -> resolver.findDeclaration(reference, ResolvedMethodDeclaration.class),
+            reference::resolve, Resolution::isDeclaredInProject);
+    }
+
+    /**
+     * Resolves a written type, e.g. the type of a field or a type that a class extends.
+     *
+     * @param type the type.
+     *
+     * @return the resolution of the type.
+     */
+    public static Resolution<ResolvedType> ofType(Type type) {
+        return resolve(type, resolver -> resolver.findType(type, ResolvedType.class),
+            type::resolve, Resolution::isDeclaredInProject);
+    }
+
+    /**
+     * Calculates the type of an expression.
+     *
+     * @param expression the expression.
+     *
+     * @return the resolution of the type of the expression.
+     */
+    public static Resolution<ResolvedType> ofExpressionType(Expression expression) {
+        return resolve(expression, resolver -> resolver.findExpressionType(expression),
+            expression::calculateResolvedType, Resolution::isDeclaredInProject);
+    }
+
+    /**
+     * Returns where the symbol is declared.
+     *
+     * @return the kind of the resolution.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns what the node resolved to.
+     *
+     * @return the resolved symbol, or empty if it could not be resolved.
+     */
+    public Optional<T> get() {
+        return resolved;
+    }
+
+    /**
+     * Applies a function to what the node resolved to while holding the lock of its resolver.
+     *
+     * @param mapper the function.
+     * @param <R>    the type of the result of the function.
+     *
+     * @return the result, or empty if the node could not be resolved.
+     */
+    public <R> Optional<R> map(Function<? super T, ? extends R> mapper) {
+        return ProjectSymbolResolver.withLock(node, () -> resolved.map(mapper));
+    }
+
+    /**
+     * Like {@link #map}, for a function that may have no result.
+     *
+     * @param mapper the function.
+     * @param <R>    the type of the result of the function.
+     *
+     * @return the result, or empty if the node could not be resolved or the function had none.
+     */
+    public <R> Optional<R> flatMap(Function<? super T, ? extends Optional<? extends R>> mapper) {
+        return ProjectSymbolResolver.withLock(
+            node, () -> resolved.flatMap(symbol -> mapper.apply(symbol).map(result -> result)));
+    }
+
+    /**
+     * Returns whether the symbol is declared in the source code of the project.
+     *
+     * @return true if the kind is {@link Kind#IN_PROJECT}.
+     */
+    public boolean isInProject() {
+        return kind == Kind.IN_PROJECT;
+    }
+
+    /**
+     * Resolves a node with the resolver of its compilation unit. A node that was not parsed with a
+     * {@link ProjectSymbolResolver} is resolved by itself, and nothing is remembered.
+     */
+    private static <T> Resolution<T> resolve(
+        Node node, Function<ProjectSymbolResolver, Optional<T>> find, Supplier<T> resolver,
+        Predicate<T> inProject) {
+        Optional<T> resolved = ProjectSymbolResolver.findResolver(node).map(find).orElseGet(
+            () -> tryResolve(resolver));
+        if (resolved.isEmpty()) {
+            return new Resolution<>(node, Kind.UNSOLVABLE, resolved);
+        }
+        Kind kind = ProjectSymbolResolver.withLock(
+            node, () -> inProject.test(resolved.get()) ? Kind.IN_PROJECT : Kind.EXTERNAL);
+        return new Resolution<>(node, kind, resolved);
+    }
+
+    private static <T> Optional<T> tryResolve(Supplier<T> resolver) {
+        try {
+            return Optional.ofNullable(resolver.get());
+        } catch (UnsolvedSymbolException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isDeclaredInProject(ResolvedMethodDeclaration method) {
+        return method.toAst().isPresent();
+    }
+
+    private static boolean isDeclaredInProject(ResolvedType type) {
+        if (!type.isReferenceType()) {
+            return false;
+        }
+        ResolvedReferenceTypeDeclaration declaration = type.asReferenceType().getTypeDeclaration();
+        return declaration instanceof JavaParserClassDeclaration ||
+               declaration instanceof JavaParserInterfaceDeclaration ||
+               declaration instanceof JavaParserEnumDeclaration;
+    }
+}
@@ -0,0 +1,209 @@
+package tool;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+
+import tool.metrics.Metrics;
+
+/**
+ * Remembers what the nodes of the project were resolved to, so that resolving a node again does
+ * not run the symbol solver. The nodes are weakly referenced and compared by identity, and the
+ * results, which refer to the nodes of their compilation unit, softly. So results are dropped when
+ * memory runs low, when the cache is full, or when the analysis is done and calls {@link #clear}.
+ * A node that cannot be resolved is remembered as well, so that asking for it again with {@link
+ * #find} does not run the symbol solver and throw once more. The cache is not thread safe, the
+ * {@link ProjectSymbolResolver} only uses it while holding its lock.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// Only used while holding the lock of the resolver.
+final class ResolutionCache {
+
+    /**
+     * What a node is resolved to, a node can be resolved in several ways.
+     */
+    /* default */ enum Kind {
+        DECLARATION,
+        TYPE,
+        EXPRESSION_TYPE
+    }
+
+    /**
+     * Kept for the nodes that the symbol solver could not resolve.
+     */
+    private static final Object UNSOLVABLE = new Object();
+
+    private final Map<NodeKey, Reference<Object>> results;
+    private final ReferenceQueue<Node> droppedNodes = new ReferenceQueue<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxSize the number of results to keep at most.
+     */
+    /* default */ ResolutionCache(int maxSize) {
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<NodeKey, Reference<Object>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns what the node was resolved to before, or resolves it and keeps the result.
+     *
+     * @param kind        how the node is resolved.
+     * @param node        the node to resolve.
+     * @param resultClass the class of the result.
+     * @param resolver    resolves the node.
+     *
+     * @return the result.
+     */
+    public <T> T get(Kind kind, Node node, Class<T> resultClass, Supplier<T> resolver) {
+        Object cached = lookUp(kind, node, resultClass);
+        if (cached != null && !UNSOLVABLE.equals(cached)) {
+            hits++;
+            Metrics.countResolveCacheHit();
+            return resultClass.cast(cached);
+        }
+
+        misses++;
+        // The caller expects the exception of a node that cannot be resolved, so it is resolved
+        // again to fail the same way.
+        T result = resolver.get();
+        if (result != null) {
+            keep(kind, node, resultClass, result);
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #get}, but a node that cannot be resolved is kept as such instead of thrown.
+     *
+     * @param kind        how the node is resolved.
+     * @param node        the node to resolve.
+     * @param resultClass the class of the result.
+     * @param resolver    resolves the node.
+     *
+     * @return the result, or empty if the node cannot be resolved.
+     */
+    public <T> Optional<T> find(Kind kind, Node node, Class<T> resultClass, Supplier<T> resolver) {
+        Object cached = lookUp(kind, node, resultClass);
+        if (cached != null) {
+            hits++;
+            Metrics.countResolveCacheHit();
+            if (UNSOLVABLE.equals(cached)) {
+                return Optional.empty();
+            }
+            return Optional.of(resultClass.cast(cached));
+        }
+
+        misses++;
+        T result;
+        try {
+            result = resolver.get();
+        } catch (UnsolvedSymbolException e) {
+            keep(kind, node, resultClass, UNSOLVABLE);
+            return Optional.empty();
+        }
+        if (result != null) {
+            keep(kind, node, resultClass, result);
+        }
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Returns the result kept for the node, or null if there is none or it has been dropped.
+     */
+    private Object lookUp(Kind kind, Node node, Class<?> resultClass) {
+        dropUnusedNodes();
+        Reference<Object> cached = results.get(new NodeKey(kind, node, resultClass, null));
+        return cached == null ? null : cached.get();
+    }
+
+    private void keep(Kind kind, Node node, Class<?> resultClass, Object result) {
+        NodeKey key = new NodeKey(kind, node, resultClass, droppedNodes);
+        results.put(key, new SoftReference<>(result));
+    }
+
+    /**
+     * Removes the results of the nodes that have been garbage collected.
+     */
+    private void dropUnusedNodes() {
+        for (Reference<? extends Node> key = droppedNodes.poll(); key != null;
+            key = droppedNodes.poll()) {
+            results.remove(key);
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Forgets every result, and with them the nodes they refer to. The hits and misses are still
+     * counted.
+     */
+    public void clear() {
+        results.clear();
+        dropUnusedNodes();
+    }
+
+    /**
+     * A weakly referenced node that is equal to the keys of the same node, kind and class. A key
+     * whose node has been collected is only equal to itself.
+     */
+    private static final class NodeKey extends WeakReference<Node> {
+
+        private final Kind kind;
+        private final Class<?> resultClass;
+        private final int hash;
+
+        private NodeKey(Kind kind, Node node, Class<?> resultClass, ReferenceQueue<Node> queue) {
+            super(node, queue);
+            this.kind = kind;
+            this.resultClass = resultClass;
+            this.hash = System.identityHashCode(node) * 31 + kind.ordinal();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof NodeKey)) {
+                return false;
+            }
+            NodeKey key = (NodeKey) other;
+            Node node = get();
+            return node != null && node == key.get() && kind == key.kind &&
+                resultClass.equals(key.resultClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -4,12 +4,15 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.StaticJavaParser;
-import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
@@ -30,76 +33,92 @@ public final class SolveThatSymbolSolver {
      *
      * @return the new config.
      */
-    @SuppressWarnings({"PMD.SystemPrintln", "PMD.AvoidInstantiatingObjectsInLoops"})
-    // Catch errors that I don't quite know what to do with. Used for debugging purposes mostly.
     public static ParserConfiguration getConfig(String rootDir) {
+        return getConfig(List.of(rootDir));
+    }
 
-        File lookForTypes = new File("src");
-        CombinedTypeSolver typeSolver = new CombinedTypeSolver(
-            new JavaParserTypeSolver(lookForTypes), new ReflectionTypeSolver(),
-            new JavaParserTypeSolver(new File("src/test/java")));
-
-        List<File> packageRoots = null;
-        try {
-            packageRoots = getPackageRoots(new File(rootDir));
-            List<File> noDuplicates = new ArrayList<>();
-            for (File root : packageRoots) {
-                if (!noDuplicates.contains(root)) {
-                    noDuplicates.add(root);
-                }
+    /**
+     * Get a config with a single symbol solver for all of the given directories, the directories
+     * are only searched for package roots once.
+     *
+     * @param rootDirs the root directories of the project.
+     *
+     * @return the new config.
+     */
+    @SuppressWarnings({"PMD.SystemPrintln", "PMD.AvoidInstantiatingObjectsInLoops"})
+    // Catch errors that I don't quite know what to do with. Used for debugging purposes mostly.
+    public static ParserConfiguration getConfig(List<String> rootDirs) {
+        // A set, so that no directory gets more than one solver (which would parse its files
+        // again).
+        Set<Path> solverRoots = new LinkedHashSet<>();
+        addIfDirectory(solverRoots, new File("src"));
+        Set<Path> packageRoots = new LinkedHashSet<>();
+        addIfDirectory(packageRoots, new File("src/test/java"));
+
+        for (String rootDir : rootDirs) {
+            try {
+                packageRoots.addAll(getPackageRoots(new File(rootDir)));
+            } catch (IllegalArgumentException | IOException e) {
+                System.err.println("Unable to get config for " + rootDir);
+                System.err.println(e);
             }
+        }
 
-            for (File pkgRoot : noDuplicates) {
-                typeSolver.add(new JavaParserTypeSolver(pkgRoot));
-            }
-        } catch (IllegalArgumentException e) {
-            System.err.println("Unable to get config for " + rootDir);
-            System.err.println(e);
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        for (Path root : solverRoots) {
+            typeSolver.add(new JavaParserTypeSolver(root));
+        }
+        typeSolver.add(new ReflectionTypeSolver());
+        packageRoots.removeAll(solverRoots);
+        for (Path root : packageRoots) {
+            typeSolver.add(new JavaParserTypeSolver(root));
         }
-        JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
+
+        ProjectSymbolResolver symbolResolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(typeSolver));
         ParserConfiguration config = StaticJavaParser.getConfiguration();
-        config.setSymbolResolver(symbolSolver);
+        config.setSymbolResolver(symbolResolver);
         StaticJavaParser.setConfiguration(config);
 
         return config;
     }
 
+    private static void addIfDirectory(Set<Path> roots, File dir) {
+        if (dir.isDirectory()) {
+            roots.add(dir.toPath().toAbsolutePath().normalize());
+        }
+    }
+
     /**
-     * Goes through and tries to find each ''package root'' in the subdirectories of the given dir.
-     * May contain duplicates!
+     * Finds each ''package root'' in the given directory and its subdirectories, in a single walk
+     * of the directory tree. Only the package of the first .java file in each directory is read,
+     * as the files of a directory share their package.
      *
      * @param rootDir the root dir.
      *
-     * @return A list of Files, one for each package root found. Alternatively an empty list if none
-     *     could be found.
+     * @return the package roots found, without duplicates.
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
-    // Would be less performant to cache nodes in a list and then creating TypeSolvers from
-    // them (regarding the AvoidInstantiatingObjectsInLoops).
-    private static List<File> getPackageRoots(File rootDir) throws IllegalArgumentException {
-        List<File> packageRoots = new ArrayList<>();
-
-        // It is a directory, let's keep going
-        File[] childFiles = rootDir.listFiles();
-        if (childFiles == null) {
+    private static Set<Path> getPackageRoots(File rootDir) throws IOException {
+        Set<Path> packageRoots = new LinkedHashSet<>();
+        if (!rootDir.isDirectory()) {
             return packageRoots;
         }
 
-        for (File child : childFiles) {
-            if (child.getName().endsWith(".java")) {
-                // Find the root package for this java file.
-                String pkg = "";
-                try {
-                    pkg = getPackage(child);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-
-                File node = getPackageRootNode(pkg, child);
-                packageRoots.add(node);
-            } else if (child.isDirectory()) {
-                packageRoots.addAll(getPackageRoots(child));
-            }
+        Set<Path> visitedDirs = new HashSet<>();
+        try (Stream<Path> walk = Files.walk(rootDir.toPath())) {
+            walk.filter(path -> path.toString().endsWith(".java"))
+                .filter(path -> visitedDirs.add(path.getParent())).forEach(path -> {
+                    // Find the root package for this java file.
+                    String pkg = "";
+                    try {
+                        pkg = getPackage(path.toFile());
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+
+                    File node = getPackageRootNode(pkg, path.toFile());
+                    packageRoots.add(node.toPath().toAbsolutePath().normalize());
+                });
         }
 
         return packageRoots;
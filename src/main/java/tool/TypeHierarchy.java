@@ -0,0 +1,298 @@
+package tool;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.observer.AstObserver;
+import com.github.javaparser.ast.observer.AstObserverAdapter;
+import com.github.javaparser.ast.observer.ObservableProperty;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+/**
+ * The supertypes of the types of the project, so that the verifiers can ask whether one type
+ * extends or implements another without resolving the supertypes every time they ask. Every type
+ * is numbered the first time it is seen and its direct supertypes (the types a declared type
+ * extends and implements, the ancestors of any other type) are resolved once and kept as the bits
+ * of their numbers. A supertype that cannot be resolved is only known by its name. There is one
+ * hierarchy for every {@link ProjectSymbolResolver}, and it resolves types under its lock. It is
+ * emptied when the analysis is done, or when the supertypes written in a numbered type change.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// Only used while holding the lock of the resolver.
+public final class TypeHierarchy {
+
+    private final Object lock;
+    private final Map<String, Integer> numbers = new HashMap<>();
+    private final List<TypeEntry> types = new ArrayList<>();
+    private final BitSet interfaces = new BitSet();
+    private final AstObserver onSupertypesChanged = new SupertypesObserver();
+
+    /**
+     * Creates an empty hierarchy.
+     *
+     * @param lock the lock to hold while resolving types.
+     */
+    /* default */ TypeHierarchy(Object lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * Returns the hierarchy of the analysis that the node was parsed for. A node that was not
+     * parsed with a {@link ProjectSymbolResolver} gets a hierarchy of its own.
+     *
+     * @param node a node of the project.
+     *
+     * @return the hierarchy.
+     */
+    public static TypeHierarchy forNode(Node node) {
+        return ProjectSymbolResolver.findResolver(node).map(ProjectSymbolResolver::getHierarchy)
+                                    .orElseGet(() -> new TypeHierarchy(new Object()));
+    }
+
+    /**
+     * Returns whether the first type extends or implements the second type itself.
+     *
+     * @param subtype   the possible subtype.
+     * @param supertype the possible direct supertype.
+     *
+     * @return true if the supertype is one of the types the subtype extends or implements.
+     */
+    public boolean isDirectSubtypeOf(
+        ClassOrInterfaceDeclaration subtype, ClassOrInterfaceDeclaration supertype) {
+        synchronized (lock) {
+            return getDirect(numberOf(subtype)).get(numberOf(supertype));
+        }
+    }
+
+    /**
+     * Returns whether the first type extends or implements the second type, directly or through
+     * its supertypes.
+     *
+     * @param subtype   the possible subtype.
+     * @param supertype the possible supertype.
+     *
+     * @return true if the supertype is one of the ancestors of the subtype.
+     */
+    public boolean isSubtypeOf(
+        ClassOrInterfaceDeclaration subtype, ClassOrInterfaceDeclaration supertype) {
+        synchronized (lock) {
+            return getAll(numberOf(subtype)).get(numberOf(supertype));
+        }
+    }
+
+    /**
+     * Returns whether the two types both implement (or, if they are interfaces, extend) an
+     * interface themselves.
+     *
+     * @param first  the first type.
+     * @param second the second type.
+     *
+     * @return true if an interface is a direct supertype of both types.
+     */
+    public boolean haveDirectInterfaceInCommon(
+        ClassOrInterfaceDeclaration first, ClassOrInterfaceDeclaration second) {
+        synchronized (lock) {
+            BitSet common = (BitSet) getDirect(numberOf(first)).clone();
+            common.and(getDirect(numberOf(second)));
+            return common.intersects(interfaces);
+        }
+    }
+
+    /**
+     * Returns the ancestors of a type with its type arguments filled in, e.g. a Collection of
+     * components for a List of components. The ancestors of the declaration of the type are only
+     * resolved once, the type arguments are filled in every time.
+     *
+     * @param type the type.
+     *
+     * @return the ancestors, like {@link ResolvedReferenceType#getAllAncestors()} finds them.
+     */
+    public List<ResolvedReferenceType> getAncestors(ResolvedReferenceType type) {
+        synchronized (lock) {
+            TypeEntry entry = types.get(numberOf(type.getTypeDeclaration()));
+            if (entry.ancestors == null) {
+                entry.ancestors = entry.resolved.getAllAncestors();
+            }
+            List<ResolvedReferenceType> ancestors = new ArrayList<>();
+            for (ResolvedReferenceType ancestor : entry.ancestors) {
+                ancestors.add(type.typeParametersMap().replaceAll(ancestor).asReferenceType());
+            }
+            return ancestors;
+        }
+    }
+
+    /**
+     * Forgets every type, they are numbered and resolved again when they are next asked about.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // Only the resolver clears the hierarchy when the analysis is done.
+    /* default */ void clear() {
+        synchronized (lock) {
+            numbers.clear();
+            types.clear();
+            interfaces.clear();
+        }
+    }
+
+    /**
+     * Numbers a declared type, its direct supertypes are the types it extends and implements.
+     */
+    private int numberOf(ClassOrInterfaceDeclaration declaration) {
+        String name = declaration.getFullyQualifiedName().orElseGet(
+            () -> declaration.resolve().getQualifiedName());
+        int number = numberOf(name, declaration.isInterface());
+        TypeEntry entry = types.get(number);
+        if (!entry.declared) {
+            BitSet direct = new BitSet();
+            for (ClassOrInterfaceType supertype : declaration.getExtendedTypes()) {
+                direct.set(numberOf(supertype));
+            }
+            for (ClassOrInterfaceType supertype : declaration.getImplementedTypes()) {
+                direct.set(numberOf(supertype));
+            }
+            entry.direct = direct;
+            entry.declared = true;
+            observe(declaration);
+        }
+        return number;
+    }
+
+    private int numberOf(ResolvedReferenceTypeDeclaration resolved) {
+        int number = numberOf(resolved.getQualifiedName(), resolved.isInterface());
+        TypeEntry entry = types.get(number);
+        if (entry.resolved == null) {
+            entry.resolved = resolved;
+        }
+        return number;
+    }
+
+    /**
+     * Numbers a written supertype. A supertype that cannot be resolved (e.g. as its library is not
+     * on the classpath) is numbered by its name as written, and has no supertypes of its own.
+     */
+    private int numberOf(ClassOrInterfaceType supertype) {
+        Optional<ResolvedType> resolved = Resolution.ofType(supertype).get().filter(
+            ResolvedType::isReferenceType);
+        if (resolved.isPresent()) {
+            return numberOf(resolved.get().asReferenceType().getTypeDeclaration());
+        }
+        int number = numberOf(supertype.asString(), false);
+        TypeEntry entry = types.get(number);
+        if (entry.direct == null) {
+            entry.direct = new BitSet();
+        }
+        return number;
+    }
+
+    private int numberOf(String name, boolean isInterface) {
+        Integer number = numbers.get(name);
+        if (number == null) {
+            number = types.size();
+            numbers.put(name, number);
+            types.add(new TypeEntry());
+            if (isInterface) {
+                interfaces.set(number);
+            }
+        }
+        return number;
+    }
+
+    /**
+     * Empties the hierarchy if the supertypes of the declaration are changed, e.g. by a test.
+     */
+    private void observe(ClassOrInterfaceDeclaration declaration) {
+        if (!declaration.isRegistered(onSupertypesChanged)) {
+            declaration.register(onSupertypesChanged);
+        }
+        for (NodeList<ClassOrInterfaceType> supertypes : List.of(
+            declaration.getExtendedTypes(), declaration.getImplementedTypes())) {
+            if (!supertypes.isRegistered(onSupertypesChanged)) {
+                supertypes.register(onSupertypesChanged);
+            }
+        }
+    }
+
+    /**
+     * Returns the direct supertypes, those of a declared type are known once it is numbered.
+     */
+    private BitSet getDirect(int number) {
+        TypeEntry entry = types.get(number);
+        if (entry.direct == null) {
+            BitSet direct = new BitSet();
+            for (ResolvedReferenceType ancestor : entry.resolved.getAncestors(true)) {
+                direct.set(numberOf(ancestor.getTypeDeclaration()));
+            }
+            entry.direct = direct;
+        }
+        return entry.direct;
+    }
+
+    private BitSet getAll(int number) {
+        TypeEntry entry = types.get(number);
+        if (entry.all == null) {
+            // Set before the supertypes are visited, so that a cycle of unresolved code ends.
+            BitSet all = new BitSet();
+            entry.all = all;
+            BitSet direct = getDirect(number);
+            all.or(direct);
+            direct.stream().forEach(supertype -> all.or(getAll(supertype)));
+        }
+        return entry.all;
+    }
+
+    /**
+     * What is known about one type, the sets of supertypes are filled in when they are first
+     * needed.
+     */
+    private static final class TypeEntry {
+        private boolean declared;
+        private ResolvedReferenceTypeDeclaration resolved;
+        private BitSet direct;
+        private BitSet all;
+        private List<ResolvedReferenceType> ancestors;
+    }
+
+    /**
+     * Empties the hierarchy when the types that an observed declaration extends or implements are
+     * replaced, added or removed.
+     */
+    @SuppressWarnings("rawtypes")
+    // The methods of the adapter take raw node lists.
+    private final class SupertypesObserver extends AstObserverAdapter {
+
+        private SupertypesObserver() {
+            super();
+        }
+
+        @Override
+        public void propertyChange(
+            Node observedNode, ObservableProperty property, Object oldValue, Object newValue) {
+            if (property == ObservableProperty.EXTENDED_TYPES ||
+                property == ObservableProperty.IMPLEMENTED_TYPES) {
+                clear();
+            }
+        }
+
+        @Override
+        public void listChange(
+            NodeList observedNode, ListChangeType type, int index, Node nodeAddedOrRemoved) {
+            clear();
+        }
+
+        @Override
+        public void listReplacement(
+            NodeList observedNode, int index, Node oldNode, Node newNode) {
+            clear();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package tool;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+import tool.designpatterns.PatternGroup;
+import tool.feedback.PatternGroupFeedback;
+import tool.metrics.Metrics;
+import tool.util.ParallelTasks;
+
+/**
+ * Verifies pattern groups concurrently. Every group is verified as a separate task, and the
+ * groups that verify one class at a time split their work further into one task per class. The
+ * symbol resolver is shared by all of them and resolves one symbol at a time, see {@link
+ * ProjectSymbolResolver}, so more threads do not make verifying much faster as most of it is
+ * resolving. Each group is measured as a stage of its own, named "verify." followed by the group.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class VerificationScheduler {
+
+    private VerificationScheduler() {
+
+    }
+
+    /**
+     * Verifies the given pattern groups.
+     *
+     * @param groups  the pattern groups mapped to the classes of each of their patterns.
+     * @param threads the maximum number of threads to use, 1 or less runs on this thread.
+     *
+     * @return the feedback of every group, in the order the groups are declared.
+     */
+    public static List<PatternGroupFeedback> verifyAll(
+        Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> groups, int threads) {
+        return verifyAll(groups, threads, feedback -> {
+        });
+    }
+
+    /**
+     * Verifies the given pattern groups, and gives the feedback of each group to the listener as
+     * soon as the group is verified.
+     *
+     * @param groups     the pattern groups mapped to the classes of each of their patterns.
+     * @param threads    the maximum number of threads to use, 1 or less runs on this thread.
+     * @param onVerified called with the feedback of each group, possibly from several threads.
+     *
+     * @return the feedback of every group, in the order the groups are declared.
+     */
+    public static List<PatternGroupFeedback> verifyAll(
+        Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> groups, int threads,
+        Consumer<PatternGroupFeedback> onVerified) {
+        // Sorted, so that the feedback is in the same order no matter when each group finishes.
+        EnumMap<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> sortedGroups =
+            new EnumMap<>(PatternGroup.class);
+        sortedGroups.putAll(groups);
+        List<Map.Entry<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>>> sorted =
+            new ArrayList<>(sortedGroups.entrySet());
+
+        return ParallelTasks.map(sorted, entry -> {
+            PatternGroupFeedback feedback = Metrics.measureInCurrent(
+                "verify." + entry.getKey(),
+                () -> entry.getKey().getVerifier().verifyGroup(entry.getValue()));
+            onVerified.accept(feedback);
+            return feedback;
+        }, threads);
+    }
+}
@@ -0,0 +1,180 @@
+package tool.cache;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+
+import tool.designpatterns.PatternGroup;
+
+/**
+ * A cache of the results of earlier runs, stored as JSON in a single file. The cache is thrown
+ * away as a whole if it was written by another version of the analyser, as the verifiers may
+ * have changed.
+ */
+public final class AnalysisCache {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final String VERSION = "version";
+    private static final String ANALYSER = "analyser";
+    private static final String FILES = "files";
+    private static final String GROUPS = "groups";
+
+    private final Path cacheFile;
+    private final Map<String, CachedFile> files;
+    private final Map<PatternGroup, CachedGroup> groups;
+
+    private AnalysisCache(
+        Path cacheFile, Map<String, CachedFile> files, Map<PatternGroup, CachedGroup> groups) {
+        this.cacheFile = cacheFile;
+        this.files = files;
+        this.groups = groups;
+    }
+
+    /**
+     * Loads the cache from the given file. If the file does not exist, or can not be used, an
+     * empty cache that will be saved to the file is returned.
+     *
+     * @param cacheFile the file the cache is stored in.
+     *
+     * @return the cache.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    // A cache that can not be read for any reason (e.g. if it was edited by hand) is discarded.
+    public static AnalysisCache load(Path cacheFile) {
+        TreeMap<String, CachedFile> files = new TreeMap<>();
+        EnumMap<PatternGroup, CachedGroup> groups = new EnumMap<>(PatternGroup.class);
+        if (!Files.isRegularFile(cacheFile)) {
+            return new AnalysisCache(cacheFile, files, groups);
+        }
+
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            JsonObject json = Json.createReader(reader).readObject();
+            if (json.getInt(VERSION) != FORMAT_VERSION ||
+                !json.getString(ANALYSER).equals(analyserVersion())) {
+                return new AnalysisCache(cacheFile, files, groups);
+            }
+
+            for (Map.Entry<String, JsonValue> file : json.getJsonObject(FILES).entrySet()) {
+                files.put(file.getKey(), CachedFile.fromJson((JsonObject) file.getValue()));
+            }
+            for (Map.Entry<String, JsonValue> group : json.getJsonObject(GROUPS).entrySet()) {
+                groups.put(PatternGroup.valueOf(group.getKey()),
+                           CachedGroup.fromJson((JsonObject) group.getValue()));
+            }
+        } catch (IOException | RuntimeException e) {
+            files.clear();
+            groups.clear();
+        }
+        return new AnalysisCache(cacheFile, files, groups);
+    }
+
+    /**
+     * Returns what is known about the given file, if its content has not changed.
+     *
+     * @param file the file.
+     * @param hash the current fingerprint of the file.
+     *
+     * @return the entry of the file, or empty if the file is unknown or has changed.
+     */
+    public Optional<CachedFile> getFile(Path file, String hash) {
+        CachedFile cached = files.get(file.toString());
+        if (cached == null || !cached.getHash().equals(hash)) {
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    public void putFile(Path file, CachedFile entry) {
+        files.put(file.toString(), entry);
+    }
+
+    /**
+     * Forgets every file that is not in the given collection, e.g. files that have been removed.
+     *
+     * @param existing the files to keep.
+     */
+    public void retainFiles(Collection<Path> existing) {
+        Set<String> keep = new HashSet<>();
+        existing.forEach(file -> keep.add(file.toString()));
+        files.keySet().retainAll(keep);
+    }
+
+    public Optional<CachedGroup> getGroup(PatternGroup group) {
+        return Optional.ofNullable(groups.get(group));
+    }
+
+    public void putGroup(PatternGroup group, CachedGroup entry) {
+        groups.put(group, entry);
+    }
+
+    public void removeGroup(PatternGroup group) {
+        groups.remove(group);
+    }
+
+    /**
+     * Writes the cache to its file, creating the directory if needed.
+     *
+     * @throws IOException if the cache could not be written.
+     */
+    public void save() throws IOException {
+        JsonObjectBuilder fileJson = Json.createObjectBuilder();
+        files.forEach((file, entry) -> fileJson.add(file, entry.toJson()));
+        JsonObjectBuilder groupJson = Json.createObjectBuilder();
+        groups.forEach((group, entry) -> groupJson.add(group.name(), entry.toJson()));
+
+        JsonObject json = Json.createObjectBuilder().add(VERSION, FORMAT_VERSION)
+                              .add(ANALYSER, analyserVersion()).add(FILES, fileJson)
+                              .add(GROUPS, groupJson).build();
+
+        Path parent = cacheFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8);
+            JsonWriter jsonWriter = Json.createWriter(writer)) {
+            jsonWriter.writeObject(json);
+        }
+    }
+
+    /**
+     * Identifies the build of the analyser that is running, i.e. where it was loaded from and,
+     * for a jar, when it was built.
+     */
+    private static String analyserVersion() {
+        CodeSource source = AnalysisCache.class.getProtectionDomain().getCodeSource();
+        if (source == null) {
+            return "unknown";
+        }
+
+        StringBuilder version = new StringBuilder(source.getLocation().toString());
+        try {
+            Path location = Paths.get(source.getLocation().toURI());
+            if (Files.isRegularFile(location)) {
+                version.append('@').append(Files.size(location)).append(':')
+                       .append(Files.getLastModifiedTime(location).toMillis());
+            }
+        } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+            // The location is still a good enough identifier on its own.
+            return version.toString();
+        }
+        return version.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package tool.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * What is known about a source file with a certain content: the classes in it that are annotated
+ * with design patterns, in the order they are declared.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class CachedFile {
+
+    private static final String HASH = "hash";
+    private static final String CLASSES = "classes";
+
+    private final String hash;
+    private final Map<String, List<Pattern>> annotatedClasses;
+
+    /**
+     * Creates a new entry for a file.
+     *
+     * @param hash             the fingerprint of the content of the file.
+     * @param annotatedClasses the qualified names of the annotated classes mapped to their
+     *                         patterns, in declaration order.
+     */
+    public CachedFile(String hash, Map<String, List<Pattern>> annotatedClasses) {
+        this.hash = hash;
+        this.annotatedClasses = Collections.unmodifiableMap(
+            new LinkedHashMap<>(annotatedClasses));
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public Map<String, List<Pattern>> getAnnotatedClasses() {
+        return annotatedClasses;
+    }
+
+    /**
+     * Converts the entry to JSON.
+     *
+     * @return the JSON representation of the entry.
+     */
+    public JsonObject toJson() {
+        JsonObjectBuilder classes = Json.createObjectBuilder();
+        annotatedClasses.forEach((name, patterns) -> {
+            JsonArrayBuilder patternArray = Json.createArrayBuilder();
+            patterns.forEach(pattern -> patternArray.add(pattern.name()));
+            classes.add(name, patternArray);
+        });
+        return Json.createObjectBuilder().add(HASH, hash).add(CLASSES, classes).build();
+    }
+
+    /**
+     * Reads an entry from JSON created by {@link #toJson()}.
+     *
+     * @param json the JSON to read.
+     *
+     * @return the entry.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public static CachedFile fromJson(JsonObject json) {
+        LinkedHashMap<String, List<Pattern>> classes = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonValue> entry : json.getJsonObject(CLASSES).entrySet()) {
+            List<Pattern> patterns = new ArrayList<>();
+            for (JsonString pattern : ((JsonArray) entry.getValue()).getValuesAs(
+                JsonString.class)) {
+                patterns.add(Pattern.valueOf(pattern.getString()));
+            }
+            classes.put(entry.getKey(), patterns);
+        }
+        return new CachedFile(json.getString(HASH), classes);
+    }
+}
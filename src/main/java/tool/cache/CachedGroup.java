@@ -0,0 +1,96 @@
+package tool.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+import tool.feedback.FeedbackJson;
+import tool.feedback.PatternGroupFeedback;
+
+/**
+ * The result of verifying a pattern group together with what it was verified against. The result
+ * is still valid as long as the group has the same members and none of the files the members
+ * depend on have changed.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class CachedGroup {
+
+    private static final String MEMBERS = "members";
+    private static final String DEPENDENCIES = "dependencies";
+    private static final String FEEDBACK = "feedback";
+
+    private final List<String> members;
+    private final Map<String, String> dependencies;
+    private final PatternGroupFeedback feedback;
+
+    /**
+     * Creates a new entry for a pattern group.
+     *
+     * @param members      a description of every member of the group and its patterns.
+     * @param dependencies the files the verification depended on, mapped to their fingerprints.
+     * @param feedback     the result of the verification.
+     */
+    public CachedGroup(
+        List<String> members, Map<String, String> dependencies, PatternGroupFeedback feedback) {
+        this.members = List.copyOf(members);
+        this.dependencies = Collections.unmodifiableMap(new TreeMap<>(dependencies));
+        this.feedback = feedback;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    public Map<String, String> getDependencies() {
+        return dependencies;
+    }
+
+    public PatternGroupFeedback getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Converts the entry to JSON.
+     *
+     * @return the JSON representation of the entry.
+     */
+    public JsonObject toJson() {
+        JsonArrayBuilder memberArray = Json.createArrayBuilder();
+        members.forEach(memberArray::add);
+        JsonObjectBuilder dependencyObject = Json.createObjectBuilder();
+        dependencies.forEach(dependencyObject::add);
+
+        return Json.createObjectBuilder().add(MEMBERS, memberArray)
+                   .add(DEPENDENCIES, dependencyObject)
+                   .add(FEEDBACK, FeedbackJson.toJson(feedback)).build();
+    }
+
+    /**
+     * Reads an entry from JSON created by {@link #toJson()}.
+     *
+     * @param json the JSON to read.
+     *
+     * @return the entry.
+     */
+    public static CachedGroup fromJson(JsonObject json) {
+        List<String> members = new ArrayList<>();
+        for (JsonString member : json.getJsonArray(MEMBERS).getValuesAs(JsonString.class)) {
+            members.add(member.getString());
+        }
+        TreeMap<String, String> dependencies = new TreeMap<>();
+        json.getJsonObject(DEPENDENCIES).forEach(
+            (file, hash) -> dependencies.put(file, ((JsonString) hash).getString()));
+
+        return new CachedGroup(
+            members, dependencies, FeedbackJson.fromJson(json.getJsonObject(FEEDBACK)));
+    }
+}
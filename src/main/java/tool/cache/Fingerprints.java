@@ -0,0 +1,50 @@
+package tool.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * Creates fingerprints of file contents, two files have the same fingerprint only if they have the
+ * same content.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class Fingerprints {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Fingerprints() {
+
+    }
+
+    /**
+     * Returns the SHA-256 hash of the contents of the given file as a hex string.
+     *
+     * @param file the file to hash.
+     *
+     * @return the hash.
+     *
+     * @throws IOException if the file could not be read.
+     */
+    public static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+
+        byte[] hash = digest.digest(Files.readAllBytes(file));
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte part : hash) {
+            hex.append(HEX[(part >> 4) & 0xF]).append(HEX[part & 0xF]);
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,171 @@
+package tool.cache;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.declarations.AssociableToAST;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
+
+/**
+ * The source files that the symbols in each file of the project were resolved into. Besides the
+ * types of a class, the verifiers depend on e.g. the methods it calls and the types of its
+ * parameters and local variables. The symbol resolver resolves each of them through {@link
+ * #record}, and the types that the type solver finds meanwhile (e.g. the class of a static method
+ * whose result is used) are added with {@link #recordSolved}, as is what the node resolved to.
+ * The dependencies of a file that has a symbol that could not be resolved are unknown, as the
+ * symbol might be added to any file. Not thread safe, the symbol resolver only records while
+ * holding its lock.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// Only used while holding the lock of the resolver.
+public final class ResolvedFiles {
+
+    private final Map<Path, Set<Path>> resolvedFrom = new HashMap<>();
+    private final Set<Path> unknown = new HashSet<>();
+    private Set<Path> resolving;
+
+    /**
+     * Creates a record where nothing has been resolved yet.
+     */
+    public ResolvedFiles() {
+        // Filled in by the symbol resolver.
+    }
+
+    /**
+     * Resolves a node, recording the files of what it was resolved to and of the types solved
+     * while resolving it.
+     *
+     * @param node     the node to resolve.
+     * @param resolver resolves the node.
+     * @param <T>      the type of the result.
+     *
+     * @return what the node was resolved to.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    // Any exception of the symbol solver means that the node can not be resolved, it is rethrown.
+    public <T> T record(Node node, Supplier<T> resolver) {
+        Optional<Path> file = findFile(node);
+        Set<Path> outer = resolving;
+        Set<Path> files = file.map(
+            key -> resolvedFrom.computeIfAbsent(key, dependencies -> new HashSet<>())).orElse(null);
+        resolving = files;
+        T result;
+        try {
+            result = resolver.get();
+        } catch (RuntimeException e) {
+            file.ifPresent(unknown::add);
+            throw e;
+        } finally {
+            resolving = outer;
+        }
+        if (files != null && result != null) {
+            addResolved(result, files);
+        }
+        return result;
+    }
+
+    /**
+     * Records that a type or declaration was found while resolving a node, does nothing when no
+     * node is being resolved.
+     *
+     * @param resolved the type or declaration.
+     */
+    public void recordSolved(Object resolved) {
+        if (resolving != null && resolved != null) {
+            addResolved(resolved, resolving);
+        }
+    }
+
+    /**
+     * Finds the files that the given files depend on through the symbols resolved in them, and
+     * the symbols resolved in those files, and so on.
+     *
+     * @param files the files to start from.
+     *
+     * @return the given files and the files they depend on, or empty if some symbol in them could
+     *     not be resolved.
+     */
+    public Optional<Set<Path>> findDependencies(Collection<Path> files) {
+        Set<Path> found = new HashSet<>(files);
+        Deque<Path> remaining = new ArrayDeque<>(files);
+        while (!remaining.isEmpty()) {
+            Path file = remaining.pop();
+            if (unknown.contains(file)) {
+                return Optional.empty();
+            }
+            for (Path dependency : resolvedFrom.getOrDefault(file, Collections.emptySet())) {
+                if (found.add(dependency)) {
+                    remaining.push(dependency);
+                }
+            }
+        }
+        return Optional.of(found);
+    }
+
+    /**
+     * Adds the files of a type to the set, including those of its type arguments (e.g. the
+     * component type of a {@code List<Component>}). Types that are not declared in a source file,
+     * such as the ones in the JDK, have no file.
+     *
+     * @param type  the type.
+     * @param files the set to add the files to.
+     */
+    public static void addType(ResolvedType type, Set<Path> files) {
+        if (type.isArray()) {
+            addType(type.asArrayType().getComponentType(), files);
+        } else if (type.isReferenceType()) {
+            ResolvedReferenceType reference = type.asReferenceType();
+            addResolved(reference.getTypeDeclaration(), files);
+            for (ResolvedType argument : reference.typeParametersValues()) {
+                addType(argument, files);
+            }
+        }
+    }
+
+    /**
+     * Adds the file that a node is in to the set, if it was parsed from a file.
+     *
+     * @param node  the node.
+     * @param files the set to add the file to.
+     */
+    public static void addFile(Node node, Set<Path> files) {
+        findFile(node).ifPresent(files::add);
+    }
+
+    private static Optional<Path> findFile(Node node) {
+        return node.findCompilationUnit().flatMap(CompilationUnit::getStorage).map(
+            storage -> storage.getPath().toAbsolutePath().normalize());
+    }
+
+    private static void addResolved(Object resolved, Set<Path> files) {
+        if (resolved instanceof ResolvedType) {
+            addType((ResolvedType) resolved, files);
+        } else if (resolved instanceof JavaParserEnumDeclaration) {
+            addFile(((JavaParserEnumDeclaration) resolved).getWrappedNode(), files);
+        } else if (resolved instanceof AssociableToAST) {
+            findAst((AssociableToAST<?>) resolved).ifPresent(node -> addFile(node, files));
+        }
+    }
+
+    private static Optional<? extends Node> findAst(AssociableToAST<?> declaration) {
+        try {
+            return declaration.toAst();
+        } catch (UnsupportedOperationException e) {
+            // Only the declarations in the source code have a node.
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package tool.cache;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+
+import tool.ProjectSymbolResolver;
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * Finds the source files that the verification of a class depends on: the file of the class
+ * itself, the files of all of its supertypes, the files of the types of its fields (including
+ * type arguments, e.g. the component type of a {@code List<Component>}) and the files that the
+ * symbols in all of these files were resolved into, see {@link ResolvedFiles}. Types that are not
+ * declared in a source file, such as the ones in the JDK, are not included.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class TypeDependencies {
+
+    private TypeDependencies() {
+
+    }
+
+    /**
+     * Finds the files the given class depends on.
+     *
+     * @param classOrI the class or interface.
+     *
+     * @return the files, or empty if some type or symbol could not be resolved (in which case the
+     *     dependencies are unknown).
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    // The symbol solver throws a wide range of unchecked exceptions for types it can not solve,
+    // they all mean that the dependencies can not be known.
+    public static Optional<Set<Path>> findFiles(ClassOrInterfaceDeclaration classOrI) {
+        Set<Path> files;
+        try {
+            // The ancestors are solved outside of the symbol resolver.
+            files = ProjectSymbolResolver.withLock(classOrI, () -> findTypeFiles(classOrI));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+        return ProjectSymbolResolver.findDependencies(classOrI, files);
+    }
+
+    private static Set<Path> findTypeFiles(ClassOrInterfaceDeclaration classOrI) {
+        Set<Path> files = new HashSet<>();
+        ResolvedFiles.addFile(classOrI, files);
+        for (ResolvedReferenceType ancestor : classOrI.resolve().getAllAncestors()) {
+            ResolvedFiles.addType(ancestor, files);
+        }
+        for (FieldDeclaration field : classOrI.getFields()) {
+            ResolvedFiles.addType(field.getElementType().resolve(), files);
+        }
+        return files;
+    }
+}
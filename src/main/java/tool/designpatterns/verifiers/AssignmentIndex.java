@@ -0,0 +1,202 @@
+package tool.designpatterns.verifiers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.SwitchStmt;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * The names assigned in a method, found in a single walk of its body. The body is walked with the
+ * scopes of its blocks, loops, lambdas and catch clauses, so an assignment of a parameter or of a
+ * local variable declared in an enclosing scope is not an assignment of a field with that name.
+ * The bodies of local and anonymous classes are not part of the method and are left out.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class AssignmentIndex {
+
+    private final Map<String, List<AssignExpr>> assignments;
+
+    private AssignmentIndex(Map<String, List<AssignExpr>> assignments) {
+        this.assignments = assignments;
+    }
+
+    /**
+     * Indexes the assignments in the body of a method.
+     *
+     * @param method the method to index.
+     *
+     * @return the index.
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    // The index is built by one thread and never changed after that.
+    public static AssignmentIndex forMethod(MethodDeclaration method) {
+        Map<String, List<AssignExpr>> assignments = new HashMap<>();
+        method.getBody().ifPresent(body -> {
+            Deque<Set<String>> scopes = new ArrayDeque<>();
+            scopes.push(declare(method.getParameters()));
+            body.accept(new ScopeVisitor(assignments), scopes);
+        });
+        // The visitor does not visit every statement in source order, e.g. else before then.
+        assignments.values().forEach(list -> list.sort(Node.NODE_BY_BEGIN_POSITION));
+        return new AssignmentIndex(assignments);
+    }
+
+    /**
+     * Returns the assignments of the name that do not assign a parameter or a local variable.
+     *
+     * @param name the name of the variable.
+     *
+     * @return an unmodifiable list of the assignments, in source order.
+     */
+    public List<AssignExpr> getAssignments(String name) {
+        return Collections.unmodifiableList(
+            assignments.getOrDefault(name, Collections.emptyList()));
+    }
+
+    private static Set<String> declare(List<Parameter> parameters) {
+        Set<String> names = new HashSet<>();
+        parameters.forEach(parameter -> names.add(parameter.getNameAsString()));
+        return names;
+    }
+
+    /**
+     * Walks a method body, keeping a stack of the names declared in each enclosing scope. The
+     * statements whose parts are visited out of source order by the adapter are visited by hand,
+     * so that a name is declared before the code that it is in scope for.
+     */
+    @SuppressWarnings({"PMD.UseConcurrentHashMap", "PMD.TooManyMethods"})
+    // Only used by the thread building the index. There is a method for every scope it handles.
+    private static final class ScopeVisitor extends VoidVisitorAdapter<Deque<Set<String>>> {
+
+        private final Map<String, List<AssignExpr>> assignments;
+
+        /* default */ ScopeVisitor(Map<String, List<AssignExpr>> assignments) {
+            super();
+            this.assignments = assignments;
+        }
+
+        @Override
+        public void visit(BlockStmt block, Deque<Set<String>> scopes) {
+            scopes.push(new HashSet<>());
+            super.visit(block, scopes);
+            scopes.pop();
+        }
+
+        @Override
+        public void visit(LambdaExpr lambda, Deque<Set<String>> scopes) {
+            scopes.push(declare(lambda.getParameters()));
+            lambda.getBody().accept(this, scopes);
+            scopes.pop();
+        }
+
+        @Override
+        public void visit(ForStmt loop, Deque<Set<String>> scopes) {
+            scopes.push(new HashSet<>());
+            loop.getInitialization().forEach(expr -> expr.accept(this, scopes));
+            loop.getCompare().ifPresent(expr -> expr.accept(this, scopes));
+            loop.getUpdate().forEach(expr -> expr.accept(this, scopes));
+            loop.getBody().accept(this, scopes);
+            scopes.pop();
+        }
+
+        @Override
+        public void visit(ForEachStmt loop, Deque<Set<String>> scopes) {
+            loop.getIterable().accept(this, scopes);
+            scopes.push(new HashSet<>());
+            loop.getVariable().accept(this, scopes);
+            loop.getBody().accept(this, scopes);
+            scopes.pop();
+        }
+
+        @Override
+        public void visit(TryStmt tryStmt, Deque<Set<String>> scopes) {
+            // The resources are in scope in the try block, but not in the catch clauses.
+            scopes.push(new HashSet<>());
+            tryStmt.getResources().forEach(resource -> resource.accept(this, scopes));
+            tryStmt.getTryBlock().accept(this, scopes);
+            scopes.pop();
+            tryStmt.getCatchClauses().forEach(clause -> clause.accept(this, scopes));
+            tryStmt.getFinallyBlock().ifPresent(block -> block.accept(this, scopes));
+        }
+
+        @Override
+        public void visit(CatchClause clause, Deque<Set<String>> scopes) {
+            Set<String> parameter = new HashSet<>();
+            parameter.add(clause.getParameter().getNameAsString());
+            scopes.push(parameter);
+            clause.getBody().accept(this, scopes);
+            scopes.pop();
+        }
+
+        @Override
+        public void visit(SwitchStmt switchStmt, Deque<Set<String>> scopes) {
+            // The entries share one block, a variable declared in a case is in scope in the next.
+            switchStmt.getSelector().accept(this, scopes);
+            scopes.push(new HashSet<>());
+            switchStmt.getEntries().forEach(entry -> entry.accept(this, scopes));
+            scopes.pop();
+        }
+
+        @Override
+        public void visit(VariableDeclarator variable, Deque<Set<String>> scopes) {
+            variable.getInitializer().ifPresent(initializer -> initializer.accept(this, scopes));
+            scopes.peek().add(variable.getNameAsString());
+        }
+
+        @Override
+        public void visit(AssignExpr assignExpr, Deque<Set<String>> scopes) {
+            if (assignExpr.getTarget().isNameExpr()) {
+                String name = assignExpr.getTarget().asNameExpr().getNameAsString();
+                if (!isDeclared(name, scopes)) {
+                    assignments.computeIfAbsent(name, key -> new ArrayList<>()).add(assignExpr);
+                }
+            }
+            super.visit(assignExpr, scopes);
+        }
+
+        @Override
+        public void visit(ClassOrInterfaceDeclaration localClass, Deque<Set<String>> scopes) {
+            // A local class has fields and methods of its own.
+        }
+
+        @Override
+        public void visit(ObjectCreationExpr creation, Deque<Set<String>> scopes) {
+            // The body of an anonymous class has fields and methods of its own.
+            creation.getScope().ifPresent(scope -> scope.accept(this, scopes));
+            creation.getArguments().forEach(argument -> argument.accept(this, scopes));
+        }
+
+        private static boolean isDeclared(String name, Deque<Set<String>> scopes) {
+            for (Set<String> scope : scopes) {
+                if (scope.contains(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
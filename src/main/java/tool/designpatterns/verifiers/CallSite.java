@@ -0,0 +1,141 @@
+package tool.designpatterns.verifiers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+
+import tool.Resolution;
+
+/**
+ * A method call in the project and what it calls. The sites of the calls in a class are made when
+ * the {@link ClassFacts} of its outermost class are collected, so every call has one site. The
+ * method that is called, and the type of the object it is called on, are resolved the first time
+ * a verifier asks for them and are kept in the site, so a call is resolved at most once no matter
+ * how many verifiers ask about it. A call that cannot be resolved calls nothing that the verifiers
+ * know of.
+ */
+public final class CallSite {
+
+    private final MethodCallExpr call;
+    private final Object lock = new Object();
+    private Resolution<ResolvedMethodDeclaration> callee;
+    private Optional<String> receiverType = Optional.empty();
+    private boolean receiverResolved;
+
+    /* default */ CallSite(MethodCallExpr call) {
+        this.call = call;
+    }
+
+    /**
+     * Returns the call site of a method call.
+     *
+     * @param call the method call.
+     *
+     * @return the call site, the same one every time it is asked for unless the call is outside
+     *     of a class.
+     */
+    public static CallSite forCall(MethodCallExpr call) {
+        Optional<CallSite> site = outermostClass(call).flatMap(
+            classOrI -> ClassFacts.forClass(classOrI).getCallSite(call));
+        return site.orElseGet(() -> new CallSite(call));
+    }
+
+    /**
+     * Returns the calls made in a method, including those in its lambdas and in the anonymous and
+     * local classes in it.
+     *
+     * @param method the method.
+     *
+     * @return an unmodifiable list of the calls, in the order they are visited in (see {@link
+     *     ClassFacts}).
+     */
+    public static List<CallSite> callsIn(MethodDeclaration method) {
+        Optional<ClassOrInterfaceDeclaration> classOrI = outermostClass(method);
+        if (classOrI.isPresent()) {
+            return ClassFacts.forClass(classOrI.get()).getCallSites(method);
+        }
+        List<CallSite> calls = new ArrayList<>();
+        method.findAll(MethodCallExpr.class).forEach(call -> calls.add(new CallSite(call)));
+        return Collections.unmodifiableList(calls);
+    }
+
+    /**
+     * The facts of the outermost class include the nested classes, so the sites are taken from
+     * them whichever class the node is in.
+     */
+    private static Optional<ClassOrInterfaceDeclaration> outermostClass(Node node) {
+        Optional<ClassOrInterfaceDeclaration> outermost = Optional.empty();
+        Optional<ClassOrInterfaceDeclaration> outer = node.findAncestor(
+            ClassOrInterfaceDeclaration.class);
+        while (outer.isPresent()) {
+            outermost = outer;
+            outer = outer.get().findAncestor(ClassOrInterfaceDeclaration.class);
+        }
+        return outermost;
+    }
+
+    /**
+     * Returns the method call.
+     *
+     * @return the method call.
+     */
+    public MethodCallExpr getCall() {
+        return call;
+    }
+
+    /**
+     * Returns the qualified name of the method that is called, e.g. "a.B.get".
+     *
+     * @return the name, or empty if the call could not be resolved.
+     */
+    public Optional<String> getCalleeName() {
+        return getCallee().map(ResolvedMethodDeclaration::getQualifiedName);
+    }
+
+    /**
+     * Returns the declaration of the method that is called, if it is declared in the project.
+     *
+     * @return the declaration, or empty if it is in a library or could not be resolved.
+     */
+    public Optional<MethodDeclaration> getCalleeDeclaration() {
+        return getCallee().flatMap(ResolvedMethodDeclaration::toAst);
+    }
+
+    /**
+     * Returns the qualified name of the type of the object that the method is called on.
+     *
+     * @return the name, or empty if the call has no scope, the scope is not an object, or its
+     *     type could not be resolved.
+     */
+    public Optional<String> getReceiverType() {
+        synchronized (lock) {
+            if (!receiverResolved) {
+                receiverType = call.getScope().flatMap(CallSite::resolveReferenceType);
+                receiverResolved = true;
+            }
+            return receiverType;
+        }
+    }
+
+    private Resolution<ResolvedMethodDeclaration> getCallee() {
+        synchronized (lock) {
+            if (callee == null) {
+                callee = Resolution.ofCall(call);
+            }
+            return callee;
+        }
+    }
+
+    private static Optional<String> resolveReferenceType(Expression scope) {
+        return Resolution.ofExpressionType(scope).flatMap(type -> type.isReferenceType() ?
+            Optional.of(type.asReferenceType().getQualifiedName()) : Optional.empty());
+    }
+}
@@ -0,0 +1,348 @@
+package tool.designpatterns.verifiers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.stmt.DoStmt;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.WhileStmt;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * What the verifiers need to know about a class, collected in one walk of the class. The nodes
+ * are kept by kind, and the nodes in the methods also by the methods they are in, so a verifier
+ * only goes through the nodes it is interested in instead of walking the class again. The facts
+ * are stored on the class itself, so a class that is verified as several patterns is only walked
+ * once. The lists are in the order that a JavaParser visitor visits the nodes, and they include
+ * what is declared in nested and anonymous classes, just like {@link Node#findAll(Class)}. That
+ * order is not always source order, e.g. the else branch of an if is visited before its then
+ * branch, and the arguments of a call before the call it is made on.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// The maps are only written before the facts are published, under the lock of the class.
+public final class ClassFacts {
+
+    private static final DataKey<ClassFacts> FACTS = new DataKey<>() {
+    };
+
+    private final List<ConstructorDeclaration> constructors = new ArrayList<>();
+    private final List<FieldDeclaration> fields = new ArrayList<>();
+    private final List<VariableDeclarator> variables = new ArrayList<>();
+    private final List<MethodDeclaration> methods = new ArrayList<>();
+    private final List<ObjectCreationExpr> objectCreations = new ArrayList<>();
+    private final Map<MethodDeclaration, List<MethodCallExpr>> methodCalls =
+        new IdentityHashMap<>();
+    private final Map<MethodCallExpr, CallSite> callSites = new IdentityHashMap<>();
+    private final Map<MethodDeclaration, List<CallSite>> methodCallSites = new IdentityHashMap<>();
+    private final Map<MethodDeclaration, List<MethodReferenceExpr>> methodReferences =
+        new IdentityHashMap<>();
+    private final Map<MethodDeclaration, List<Statement>> loops = new IdentityHashMap<>();
+    private final Map<MethodDeclaration, List<Node>> loopsAndCalls = new IdentityHashMap<>();
+    private final Map<MethodDeclaration, AssignmentIndex> assignments = new IdentityHashMap<>();
+
+    private ClassFacts(ClassOrInterfaceDeclaration classOrI) {
+        classOrI.accept(new Collector(classOrI), null);
+    }
+
+    /**
+     * Returns the facts of the class, collecting them if no verifier has done so yet.
+     *
+     * @param classOrI the class.
+     *
+     * @return the facts of the class.
+     */
+    public static ClassFacts forClass(ClassOrInterfaceDeclaration classOrI) {
+        // The groups of the class may be verified at the same time, only one of them walks it.
+        synchronized (classOrI) {
+            if (classOrI.containsData(FACTS)) {
+                return classOrI.getData(FACTS);
+            }
+            ClassFacts facts = new ClassFacts(classOrI);
+            classOrI.setData(FACTS, facts);
+            return facts;
+        }
+    }
+
+    private void addMethod(ClassOrInterfaceDeclaration classOrI, MethodDeclaration method) {
+        methods.add(method);
+        methodCalls.put(method, new ArrayList<>());
+        methodCallSites.put(method, new ArrayList<>());
+        methodReferences.put(method, new ArrayList<>());
+        loops.put(method, new ArrayList<>());
+        loopsAndCalls.put(method, new ArrayList<>());
+        if (method.getParentNode().orElse(null) == classOrI) {
+            assignments.put(method, AssignmentIndex.forMethod(method));
+        }
+    }
+
+    /**
+     * Adds the node to every method of the class that it is in, as all of them contain it. The
+     * methods are visited before what is in them, so a method that is not known yet is outside the
+     * class.
+     */
+    private <T extends Node> void addToMethods(Map<MethodDeclaration, List<T>> byMethod, T node) {
+        addToMethods(byMethod, node, node);
+    }
+
+    /**
+     * Adds the value to every method of the class that the node is in.
+     */
+    private <T> void addToMethods(Map<MethodDeclaration, List<T>> byMethod, Node node, T value) {
+        Optional<MethodDeclaration> method = node.findAncestor(MethodDeclaration.class);
+        while (method.isPresent() && byMethod.containsKey(method.get())) {
+            byMethod.get(method.get()).add(value);
+            method = method.get().findAncestor(MethodDeclaration.class);
+        }
+    }
+
+    private void addCall(MethodCallExpr call) {
+        CallSite site = new CallSite(call);
+        callSites.put(call, site);
+        addToMethods(methodCalls, call);
+        addToMethods(methodCallSites, call, site);
+        addToMethods(loopsAndCalls, call);
+    }
+
+    private void addLoop(Statement loop) {
+        addToMethods(loops, loop);
+        addToMethods(loopsAndCalls, loop);
+    }
+
+    /**
+     * Returns the constructors in the class.
+     *
+     * @return an unmodifiable list of the constructors.
+     */
+    public List<ConstructorDeclaration> getConstructors() {
+        return Collections.unmodifiableList(constructors);
+    }
+
+    /**
+     * Returns the field declarations in the class.
+     *
+     * @return an unmodifiable list of the fields.
+     */
+    public List<FieldDeclaration> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Returns the variables declared in the class, both fields and local variables.
+     *
+     * @return an unmodifiable list of the variable declarators.
+     */
+    public List<VariableDeclarator> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * Returns the methods in the class.
+     *
+     * @return an unmodifiable list of the methods.
+     */
+    public List<MethodDeclaration> getMethods() {
+        return Collections.unmodifiableList(methods);
+    }
+
+    /**
+     * Returns the objects created in the class.
+     *
+     * @return an unmodifiable list of the object creation expressions.
+     */
+    public List<ObjectCreationExpr> getObjectCreations() {
+        return Collections.unmodifiableList(objectCreations);
+    }
+
+    /**
+     * Returns the method calls in a method of the class.
+     *
+     * @param method a method of the class.
+     *
+     * @return an unmodifiable list of the calls, empty if the method is not in the class.
+     */
+    public List<MethodCallExpr> getMethodCalls(MethodDeclaration method) {
+        return Collections.unmodifiableList(
+            methodCalls.getOrDefault(method, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the call site of a method call in the class. Only {@link CallSite} asks for it, so
+     * that a call has the same site no matter which facts it is found through.
+     *
+     * @param call a method call in the class.
+     *
+     * @return the call site, or empty if the call is not in the class.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // The sites of a call are only handed out by CallSite, from the facts of the outermost class.
+    /* default */ Optional<CallSite> getCallSite(MethodCallExpr call) {
+        return Optional.ofNullable(callSites.get(call));
+    }
+
+    /**
+     * Returns the call sites of the method calls in a method of the class.
+     *
+     * @param method a method of the class.
+     *
+     * @return an unmodifiable list of the call sites, empty if the method is not in the class.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // The sites of a call are only handed out by CallSite, from the facts of the outermost class.
+    /* default */ List<CallSite> getCallSites(MethodDeclaration method) {
+        return Collections.unmodifiableList(
+            methodCallSites.getOrDefault(method, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the method references in a method of the class.
+     *
+     * @param method a method of the class.
+     *
+     * @return an unmodifiable list of the method references, empty if the method is not in the
+     *     class.
+     */
+    public List<MethodReferenceExpr> getMethodReferences(MethodDeclaration method) {
+        return Collections.unmodifiableList(
+            methodReferences.getOrDefault(method, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the for, for each, while and do loops in a method of the class.
+     *
+     * @param method a method of the class.
+     *
+     * @return an unmodifiable list of the loops, empty if the method is not in the class.
+     */
+    public List<Statement> getLoops(MethodDeclaration method) {
+        return Collections.unmodifiableList(loops.getOrDefault(method, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the loops and the method calls in a method of the class together, in the order they
+     * are visited.
+     *
+     * @param method a method of the class.
+     *
+     * @return an unmodifiable list of the loops and calls, empty if the method is not in the class.
+     */
+    public List<Node> getLoopsAndCalls(MethodDeclaration method) {
+        return Collections.unmodifiableList(
+            loopsAndCalls.getOrDefault(method, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the assignments of a name in a method that is a member of the class, see {@link
+     * AssignmentIndex}.
+     *
+     * @param method a method that is a member of the class.
+     * @param name   the name of the variable.
+     *
+     * @return an unmodifiable list of the assignments, empty if the method is not a member.
+     */
+    public List<AssignExpr> getAssignments(MethodDeclaration method, String name) {
+        AssignmentIndex index = assignments.get(method);
+        return index == null ? Collections.emptyList() : index.getAssignments(name);
+    }
+
+    /**
+     * Collects the nodes of the class as it visits them, each node before the nodes in it.
+     */
+    @SuppressWarnings("PMD.TooManyMethods")
+    // One method for every kind of node that is collected.
+    private final class Collector extends VoidVisitorAdapter<Void> {
+
+        private final ClassOrInterfaceDeclaration classOrI;
+
+        private Collector(ClassOrInterfaceDeclaration classOrI) {
+            super();
+            this.classOrI = classOrI;
+        }
+
+        @Override
+        public void visit(ConstructorDeclaration constructor, Void arg) {
+            constructors.add(constructor);
+            super.visit(constructor, arg);
+        }
+
+        @Override
+        public void visit(FieldDeclaration field, Void arg) {
+            fields.add(field);
+            super.visit(field, arg);
+        }
+
+        @Override
+        public void visit(VariableDeclarator variable, Void arg) {
+            variables.add(variable);
+            super.visit(variable, arg);
+        }
+
+        @Override
+        public void visit(MethodDeclaration method, Void arg) {
+            addMethod(classOrI, method);
+            super.visit(method, arg);
+        }
+
+        @Override
+        public void visit(ObjectCreationExpr creation, Void arg) {
+            objectCreations.add(creation);
+            super.visit(creation, arg);
+        }
+
+        @Override
+        public void visit(MethodCallExpr call, Void arg) {
+            addCall(call);
+            super.visit(call, arg);
+        }
+
+        @Override
+        public void visit(MethodReferenceExpr reference, Void arg) {
+            addToMethods(methodReferences, reference);
+            super.visit(reference, arg);
+        }
+
+        @Override
+        public void visit(ForStmt loop, Void arg) {
+            addLoop(loop);
+            super.visit(loop, arg);
+        }
+
+        @Override
+        public void visit(ForEachStmt loop, Void arg) {
+            addLoop(loop);
+            super.visit(loop, arg);
+        }
+
+        @Override
+        public void visit(WhileStmt loop, Void arg) {
+            addLoop(loop);
+            super.visit(loop, arg);
+        }
+
+        @Override
+        public void visit(DoStmt loop, Void arg) {
+            addLoop(loop);
+            super.visit(loop, arg);
+        }
+    }
+}
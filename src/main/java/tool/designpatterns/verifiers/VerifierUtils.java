@@ -6,12 +6,10 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.InitializerDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
-import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.AnnotationExpr;
 
 import tool.feedback.Feedback;
@@ -41,7 +39,8 @@ public final class VerifierUtils {
         ClassOrInterfaceDeclaration toTest, ClassOrInterfaceDeclaration type) {
         Feedback result;
         AtomicBoolean isInitialized = new AtomicBoolean(true);
-        List<FieldDeclaration> fieldsInClass = toTest.findAll(FieldDeclaration.class);
+        ClassFacts facts = ClassFacts.forClass(toTest);
+        List<FieldDeclaration> fieldsInClass = facts.getFields();
         String nameOfType = type.getNameAsString();
         List<String> constructorParams = new ArrayList<>();
         for (FieldDeclaration currentField : fieldsInClass) {
@@ -51,7 +50,7 @@ public final class VerifierUtils {
                     currentField.findAll(InitializerDeclaration.class).forEach(fieldInitializer -> {
                         isInitialized.set(false);
                     });
-                    toTest.findAll(ConstructorDeclaration.class).forEach(declaration -> {
+                    facts.getConstructors().forEach(declaration -> {
                         Optional<Parameter> parameter = declaration.getParameterByType(nameOfType);
                         if (parameter.isPresent()) {
                             constructorParams.add(parameter.get().getNameAsString());
@@ -59,7 +58,7 @@ public final class VerifierUtils {
                             isInitialized.set(false);
                         }
                     });
-                    toTest.findAll(VariableDeclarator.class).forEach(variableDeclarator -> {
+                    facts.getVariables().forEach(variableDeclarator -> {
                         if (variableDeclarator.getNameAsString().equals(
                             currentField.getVariable(0).getNameAsString()) &&
                             variableDeclarator.getInitializer().isPresent() &&
@@ -96,7 +95,7 @@ public final class VerifierUtils {
         Feedback result;
 
         AtomicBoolean resultBool = new AtomicBoolean(false);
-        for (MethodDeclaration methodDeclaration : toTest.findAll(MethodDeclaration.class)) {
+        for (MethodDeclaration methodDeclaration : ClassFacts.forClass(toTest).getMethods()) {
             if (!methodDeclaration.isPrivate()) {
                 resultBool.set(true);
             }
@@ -125,7 +124,7 @@ public final class VerifierUtils {
         ClassOrInterfaceDeclaration toTest, ClassOrInterfaceDeclaration type) {
         Feedback result;
         AtomicBoolean hasAComponent = new AtomicBoolean(false);
-        toTest.findAll(VariableDeclarator.class).forEach(fieldDeclaration -> {
+        ClassFacts.forClass(toTest).getVariables().forEach(fieldDeclaration -> {
             if (fieldDeclaration.getTypeAsString().equals(
                 type.getNameAsString())) { //Check that this works
                 hasAComponent.set(true);
@@ -11,19 +11,20 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
-import com.github.javaparser.ast.expr.MethodCallExpr;
-import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.visitor.GenericListVisitorAdapter;
-import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
-import com.github.javaparser.resolution.types.ResolvedReferenceType;
 
+import tool.ProjectSymbolResolver;
+import tool.Resolution;
+import tool.TypeHierarchy;
 import tool.designpatterns.Pattern;
 import tool.designpatterns.PatternGroup;
+import tool.designpatterns.verifiers.CallSite;
 import tool.designpatterns.verifiers.IPatternGrouper;
 import tool.feedback.Feedback;
 import tool.feedback.FeedbackTrace;
 import tool.feedback.FeedbackWrapper;
 import tool.feedback.PatternGroupFeedback;
+import tool.util.DeclarationSet;
 
 /**
  * A verifier for the adapter pattern.
@@ -51,17 +52,17 @@ public class AdapterVerifier implements IPatternGrouper {
             feedbacks.add(partsFeedback);
         } else {
             List<ClassOrInterfaceDeclaration> adaptees = patternParts.get(ADAPTER_ADAPTEE);
-            List<ClassOrInterfaceDeclaration> notMatchingAdaptees = new ArrayList<>(adaptees);
+            DeclarationSet matchingAdaptees = new DeclarationSet();
 
             for (ClassOrInterfaceDeclaration adapter : patternParts.get(ADAPTER_ADAPTER)) {
                 FeedbackWrapper<List<ClassOrInterfaceDeclaration>> foo = verifyAdapter(adapter,
                                                                                        adaptees);
                 if (!foo.getFeedback().getIsError()) {
-                    notMatchingAdaptees.removeAll(foo.getOther());
+                    matchingAdaptees.addAll(foo.getOther());
                 }
                 feedbacks.add(foo.getFeedback());
             }
-            for (ClassOrInterfaceDeclaration adaptee : notMatchingAdaptees) {
+            for (ClassOrInterfaceDeclaration adaptee : matchingAdaptees.without(adaptees)) {
                 feedbacks.add(Feedback
                                   .getNoChildFeedback("Annotated adaptee has no matching adapter",
                                                       new FeedbackTrace(adaptee))); // Suppressed
@@ -140,28 +141,18 @@ public class AdapterVerifier implements IPatternGrouper {
      *
      * @return Boolean regarding if the implementation is correct or not.
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops") // The only instantiated objects in
-    // loops are in return statements
     private Feedback verifyInterfaces(
         ClassOrInterfaceDeclaration adapter, ClassOrInterfaceDeclaration adaptee) {
-        ResolvedReferenceTypeDeclaration adapteeType = adaptee.resolve();
-        for (ClassOrInterfaceType coit : adapter.getImplementedTypes()) {
-            ResolvedReferenceTypeDeclaration coitType = coit.resolve().getTypeDeclaration();
-            if (adaptee.isInterface()) {
-                if (coitType.getQualifiedName().equals(adapteeType.getQualifiedName())) {
-                    return Feedback.getNoChildFeedback("The adapter implements the adaptee",
-                                                       new FeedbackTrace(adapter));
-                }
-            } else {
-                for (ClassOrInterfaceType coi : adaptee.getImplementedTypes()) {
-                    ResolvedReferenceTypeDeclaration coiType = coi.resolve().getTypeDeclaration();
-                    if (coitType.getQualifiedName().equals(coiType.getQualifiedName())) {
-                        return Feedback.getNoChildFeedback(
-                            "The adapter implements the same interface as the adaptee",
-                            new FeedbackTrace(adapter));
-                    }
-                }
+        TypeHierarchy hierarchy = TypeHierarchy.forNode(adapter);
+        if (adaptee.isInterface()) {
+            if (hierarchy.isDirectSubtypeOf(adapter, adaptee)) {
+                return Feedback.getNoChildFeedback("The adapter implements the adaptee",
+                                                   new FeedbackTrace(adapter));
             }
+        } else if (hierarchy.haveDirectInterfaceInCommon(adapter, adaptee)) {
+            return Feedback.getNoChildFeedback(
+                "The adapter implements the same interface as the adaptee",
+                new FeedbackTrace(adapter));
         }
 
         return Feedback.getSuccessfulFeedback();
@@ -207,7 +198,8 @@ public class AdapterVerifier implements IPatternGrouper {
 
         /**
          * A method that checks if a method is called from within another method, i.e. if it is
-         * wrapped.
+         * wrapped. A method wraps an interface adaptee if it calls any method and the adapter has
+         * a field of the adaptee type, and a superclass adaptee if it calls a method on super.
          *
          * @param method  The MethodDeclaration fo the wrapping method.
          * @param adaptee The ClassOrInterfaceDeclaration to look for the wrapped method in.
@@ -217,61 +209,33 @@ public class AdapterVerifier implements IPatternGrouper {
         private Boolean isWrapper(
             MethodDeclaration method, ClassOrInterfaceDeclaration currentClass,
             ClassOrInterfaceDeclaration adaptee) {
-            List<Boolean> list = method.accept(new MethodCallVisitor(currentClass), adaptee);
-
-            return list.stream().anyMatch(e -> e);
-        }
-    }
-
-
-    /**
-     * A class used to visit every method call expression node in a ClassOrInterfaceDeclaration.
-     */
-    private static class MethodCallVisitor
-        extends GenericListVisitorAdapter<Boolean, ClassOrInterfaceDeclaration> {
-
-        private final ClassOrInterfaceDeclaration currentClass;
-
-        public MethodCallVisitor(ClassOrInterfaceDeclaration currentClass) {
-            super();
-            this.currentClass = currentClass;
-        }
-
-        /**
-         * Checks if the adaptee is an interface or a superclass, and checks whether the method call
-         * wraps a method call from the adaptee, if it does it adds true to the list otherwise it
-         * returns false.
-         *
-         * @param methodCallExpr the type of node to be visited
-         * @param adaptee        the ClassOrInterfaceDeclaration nodes are being visited in.
-         *
-         * @return a list of Booleans, true if wrapped method call otherwise false.
-         */
-        @Override
-        public List<Boolean> visit(
-            MethodCallExpr methodCallExpr, ClassOrInterfaceDeclaration adaptee) {
-            List<Boolean> boolList = super.visit(methodCallExpr, adaptee);
-
+            List<CallSite> calls = CallSite.callsIn(method);
             if (adaptee.isInterface()) {
-                for (FieldDeclaration field : currentClass.getFields()) {
-                    if (field.resolve().getType().isReferenceType()) {
-                        ResolvedReferenceType fieldType =
-                            field.resolve().getType().asReferenceType();
-                        ResolvedReferenceTypeDeclaration adapteeType = adaptee.resolve();
-                        if (fieldType.getQualifiedName().equals(adapteeType.getQualifiedName())) {
-                            boolList.add(Boolean.TRUE);
-                            return boolList;
-                        }
-                    }
+                return !calls.isEmpty() && hasFieldOfAdapteeType(currentClass, adaptee);
+            }
+            for (CallSite call : calls) {
+                if (call.getCall().getScope().map(
+                    scope -> scope.toString().equalsIgnoreCase("super")).orElse(false)) {
+                    return true;
                 }
-
-            } else if (methodCallExpr.getScope().get().toString().equalsIgnoreCase("super")) {
-                boolList.add(Boolean.TRUE);
-                return boolList;
             }
+            return false;
+        }
 
-            boolList.add(Boolean.FALSE);
-            return boolList;
+        private static boolean hasFieldOfAdapteeType(
+            ClassOrInterfaceDeclaration currentClass, ClassOrInterfaceDeclaration adaptee) {
+            String adapteeName = ProjectSymbolResolver.withLock(
+                adaptee, () -> adaptee.resolve().getQualifiedName());
+            for (FieldDeclaration field : currentClass.getFields()) {
+                // A field of a type that cannot be resolved is not of the adaptee type.
+                if (Resolution.ofType(field.getVariable(0).getType()).map(
+                    type -> type.isReferenceType() &&
+                            type.asReferenceType().getQualifiedName().equals(adapteeName)).orElse(
+                    Boolean.FALSE)) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 
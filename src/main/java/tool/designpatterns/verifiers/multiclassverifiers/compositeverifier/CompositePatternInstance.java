@@ -1,15 +1,17 @@
 package tool.designpatterns.verifiers.multiclassverifiers.compositeverifier;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
+import tool.TypeHierarchy;
 import tool.designpatterns.Pattern;
 import tool.designpatterns.verifiers.APatternInstance;
+import tool.util.DeclarationIds;
+import tool.util.DeclarationSet;
 
 /**
  * Class which defines how an instance of Composte is structured, created and is neccesary for it to
@@ -54,54 +56,44 @@ public final class CompositePatternInstance extends APatternInstance {
      *
      * @return A list of all identified instances of the pattern
      */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    // The instances are grouped by one thread.
     public static List<CompositePatternInstance> createInstancesFromMap(
         Map<Pattern, List<ClassOrInterfaceDeclaration>> map) {
         List<ClassOrInterfaceDeclaration> components = map.get(Pattern.COMPOSITE_COMPONENT);
         List<ClassOrInterfaceDeclaration> containers = map.get(Pattern.COMPOSITE_CONTAINER);
         List<ClassOrInterfaceDeclaration> leaves = map.get(Pattern.COMPOSITE_LEAF);
 
-        HashMap<ClassOrInterfaceDeclaration, CompositePatternInstance> patternInstances =
-            new HashMap<>();
+        // Keyed by the number of the component, the instances are in declaration order.
+        Map<Integer, CompositePatternInstance> patternInstances = new LinkedHashMap<>();
 
         components.forEach((component) -> {
             CompositePatternInstance patternInstance = new CompositePatternInstance(component);
-            patternInstances.putIfAbsent(component, patternInstance);
+            patternInstances.putIfAbsent(DeclarationIds.idOf(component), patternInstance);
         });
 
-        ArrayList<ClassOrInterfaceDeclaration> identifiedElements = new ArrayList<>();
+        DeclarationSet identifiedElements = new DeclarationSet();
 
-        // Found no better way to populate PatternInstances than looping
-        // through everything multiple times
         components.forEach((component) -> {
-            String componentName = component.resolve().getQualifiedName();
+            TypeHierarchy hierarchy = TypeHierarchy.forNode(component);
+            CompositePatternInstance patternInstance = patternInstances.get(
+                DeclarationIds.idOf(component));
             containers.forEach(container -> {
-                List<ClassOrInterfaceType> types = new ArrayList<>();
-                types.addAll(container.getExtendedTypes());
-                types.addAll(container.getImplementedTypes());
-                types.forEach(classOrInterface -> {
-                    if (classOrInterface.resolve().getQualifiedName().equals(componentName)) {
-                        CompositePatternInstance patternInstance = patternInstances.get(component);
-                        patternInstance.containers.add(container);
-                        identifiedElements.add(container);
-                    }
-                });
+                if (hierarchy.isDirectSubtypeOf(container, component)) {
+                    patternInstance.containers.add(container);
+                    identifiedElements.add(container);
+                }
             });
             leaves.forEach(leaf -> {
-                List<ClassOrInterfaceType> types = new ArrayList<>();
-                types.addAll(leaf.getExtendedTypes());
-                types.addAll(leaf.getImplementedTypes());
-                types.forEach(classOrInterface -> {
-                    if (classOrInterface.resolve().getQualifiedName().equals(componentName)) {
-                        CompositePatternInstance patternInstance = patternInstances.get(component);
-                        patternInstance.leaves.add(leaf);
-                        identifiedElements.add(leaf);
-                    }
-                });
+                if (hierarchy.isDirectSubtypeOf(leaf, component)) {
+                    patternInstance.leaves.add(leaf);
+                    identifiedElements.add(leaf);
+                }
             });
 
             // If any elements are left then they are invalid instances
-            containers.removeAll(identifiedElements);
-            leaves.removeAll(identifiedElements);
+            containers.removeIf(identifiedElements::contains);
+            leaves.removeIf(identifiedElements::contains);
 
         });
         // If there are elements that do not relate to any of the previous
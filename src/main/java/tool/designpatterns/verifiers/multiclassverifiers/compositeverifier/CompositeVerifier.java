@@ -6,11 +6,13 @@ import java.util.Map;
 
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
-import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.resolution.types.ResolvedReferenceType;
 
+import tool.ProjectSymbolResolver;
+import tool.TypeHierarchy;
 import tool.designpatterns.Pattern;
 import tool.designpatterns.PatternGroup;
+import tool.designpatterns.verifiers.ClassFacts;
 import tool.designpatterns.verifiers.IPatternGrouper;
 import tool.designpatterns.verifiers.VerifierUtils;
 import tool.feedback.Feedback;
@@ -102,22 +104,29 @@ public class CompositeVerifier implements IPatternGrouper {
      */
     private FeedbackWrapper<List<FieldDeclaration>> getCollectionFieldsOfType(
         ClassOrInterfaceDeclaration container, ClassOrInterfaceDeclaration componentType) {
-        List<FieldDeclaration> fieldNames = new ArrayList<>();
-
         final String collectionType = "java.util.Collection";
 
-        for (FieldDeclaration field : VariableReader.readVariables(container)) {
-            for (ResolvedReferenceType type : field.getElementType().resolve().asReferenceType()
-                                                   .getAllAncestors()) {
-                if (type.getQualifiedName().equals(collectionType)) {
-                    for (var pair : type.getTypeParametersMap()) {
-                        if (pair.b.describe().equals(componentType.getFullyQualifiedName().get())) {
-                            fieldNames.add(field);
+        List<FieldDeclaration> fields = VariableReader.readVariables(container);
+        TypeHierarchy hierarchy = TypeHierarchy.forNode(container);
+        // Filling in the type parameters of the ancestors solves types outside of the symbol
+        // resolver.
+        List<FieldDeclaration> fieldNames = ProjectSymbolResolver.withLock(container, () -> {
+            List<FieldDeclaration> found = new ArrayList<>();
+            for (FieldDeclaration field : fields) {
+                for (ResolvedReferenceType type : hierarchy.getAncestors(
+                    field.getElementType().resolve().asReferenceType())) {
+                    if (type.getQualifiedName().equals(collectionType)) {
+                        for (var pair : type.getTypeParametersMap()) {
+                            if (pair.b.describe().equals(
+                                componentType.getFullyQualifiedName().get())) {
+                                found.add(field);
+                            }
                         }
                     }
                 }
             }
-        }
+            return found;
+        });
         Feedback feedback;
         if (fieldNames.isEmpty()) {
             feedback = Feedback.getNoChildFeedback(
@@ -140,13 +149,12 @@ public class CompositeVerifier implements IPatternGrouper {
     private Feedback delegatesToCollection(
         ClassOrInterfaceDeclaration container, ClassOrInterfaceDeclaration componentType) {
         List<Feedback> responses = new ArrayList<>();
-        LoopVisitor looper = new LoopVisitor();
-        container.findAll(MethodDeclaration.class).forEach(methodInContainer -> {
+        ClassFacts facts = ClassFacts.forClass(container);
+        facts.getMethods().forEach(methodInContainer -> {
             if (VerifierUtils.methodBelongsToComponent(methodInContainer, componentType)) {
-                Feedback doesDelegateFeedback = methodInContainer.accept(looper, methodInContainer);
-                responses.add(doesDelegateFeedback);
-                responses.add(looper.hasIteratingBlock(methodInContainer));
-                looper.resetIteratingBlocks();
+                IteratingBlocks blocks = new IteratingBlocks(facts, methodInContainer);
+                responses.add(blocks.verifyDelegation());
+                responses.add(blocks.hasIteratingBlock());
             }
         });
 
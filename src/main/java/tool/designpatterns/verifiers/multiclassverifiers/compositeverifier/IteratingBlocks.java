@@ -0,0 +1,130 @@
+package tool.designpatterns.verifiers.multiclassverifiers.compositeverifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithBody;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+
+import tool.Resolution;
+import tool.designpatterns.verifiers.CallSite;
+import tool.designpatterns.verifiers.ClassFacts;
+import tool.designpatterns.verifiers.VerifierUtils;
+import tool.feedback.Feedback;
+import tool.feedback.FeedbackTrace;
+
+/**
+ * The iterating blocks of a method in a container, i.e. its loops and the calls to forEach, taken
+ * from the {@link ClassFacts} of the container instead of walking the method. The first loop or
+ * method call that is visited in the method decides the result: if it is an iterating block the
+ * block has to call the method on a child, any other call passes. The iterating blocks that are
+ * counted are those in the first loop or call, those in the first loop or call inside it, and so
+ * on.
+ */
+final class IteratingBlocks {
+
+    private final ClassFacts facts;
+    private final MethodDeclaration method;
+    private final List<Node> loopsAndCalls;
+
+    /* default */ IteratingBlocks(ClassFacts facts, MethodDeclaration method) {
+        this.facts = facts;
+        this.method = method;
+        this.loopsAndCalls = facts.getLoopsAndCalls(method);
+    }
+
+    /**
+     * Verifies that the first iterating block of the method delegates the method call.
+     *
+     * @return the feedback of the first loop or call, or null if the method has neither.
+     */
+    public Feedback verifyDelegation() {
+        if (loopsAndCalls.isEmpty()) {
+            return null;
+        }
+        Node first = loopsAndCalls.get(0);
+        if (first instanceof MethodCallExpr && !isForEach(first)) {
+            return Feedback.getSuccessfulFeedback();
+        }
+        Node body = first instanceof MethodCallExpr ? ((MethodCallExpr) first).getArgument(0) :
+                    ((NodeWithBody<?>) first).getBody();
+        if (delegates(body)) {
+            return Feedback.getSuccessfulFeedback();
+        } else {
+            return Feedback.getNoChildFeedback("Container method does not delegate method call",
+                                               new FeedbackTrace(method));
+        }
+    }
+
+    /**
+     * Verifies that the method has an iterating block.
+     *
+     * @return the feedback of the method.
+     */
+    @SuppressWarnings("PMD.LinguisticNaming")
+    public Feedback hasIteratingBlock() {
+        for (int i = 0; i < loopsAndCalls.size(); i++) {
+            Node node = loopsAndCalls.get(i);
+            if (!(node instanceof MethodCallExpr) || isForEach(node)) {
+                return Feedback.getSuccessfulFeedback();
+            }
+            if (i + 1 < loopsAndCalls.size() && !isInside(loopsAndCalls.get(i + 1), node)) {
+                break;
+            }
+        }
+        return Feedback.getNoChildFeedback("The method has no iterating block",
+                                           new FeedbackTrace(method));
+    }
+
+    /**
+     * Checks whether a call or method reference in the block calls a method with the same header
+     * as the method. Standard library methods like List.get(index) or System.out.println have no
+     * declaration in this project, and TypeSolver can't seem to handle MethodReferenceExpr:s when
+     * their declaration is outside of the project.
+     */
+    private boolean delegates(Node block) {
+        for (MethodCallExpr call : facts.getMethodCalls(method)) {
+            if (isInside(call, block) && isSameMethod(
+                CallSite.forCall(call).getCalleeDeclaration())) {
+                return true;
+            }
+        }
+        for (MethodReferenceExpr reference : facts.getMethodReferences(method)) {
+            if (isInside(reference, block) && isSameMethod(Resolution.ofMethodReference(
+                reference).flatMap(ResolvedMethodDeclaration::toAst))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSameMethod(Optional<MethodDeclaration> declaration) {
+        return declaration.map(called -> VerifierUtils.hasSameMethodHeader(called, method)).orElse(
+            Boolean.FALSE);
+    }
+
+    private static boolean isForEach(Node node) {
+        return ((MethodCallExpr) node).getNameAsString().equalsIgnoreCase("forEach");
+    }
+
+    /**
+     * Returns whether the node is the block or in it, by following the parents of the node. Node
+     * has isAncestorOf, but it searches the whole block.
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    // The nodes are compared by identity, an equal node somewhere else is not in the block.
+    private static boolean isInside(Node node, Node block) {
+        Optional<Node> current = Optional.of(node);
+        while (current.isPresent()) {
+            if (current.get() == block) {
+                return true;
+            }
+            current = current.get().getParentNode();
+        }
+        return false;
+    }
+}
@@ -1,7 +1,7 @@
 package tool.designpatterns.verifiers.multiclassverifiers.decorator;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +10,8 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import tool.designpatterns.Pattern;
 import tool.feedback.Feedback;
 import tool.feedback.FeedbackTrace;
+import tool.util.DeclarationIds;
+import tool.util.DeclarationSet;
 
 /**
  * Used to group parts of the same instance of the decorator pattern (an implementation of the
@@ -43,89 +45,104 @@ final class DecoratorPatternInstance {
     }
 
     /**
-     * Method for identifying which classes are part of the same decorator pattern instance.
+     * Method for identifying which classes are part of the same decorator pattern instance. A
+     * class is part of the instance of the first interface component that it (or, for concrete
+     * decorators, its abstract decorator) implements. The lists in the map are not modified.
      *
      * @param map A map where every element of the decorator pattern (e.g. concrete decorator) is
      *            mapped to all the classes of said element type
      *
      * @return A list of all identified instances of the pattern
      */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    // The instances are grouped by one thread.
     public static List<DecoratorPatternInstance> getPatternInstances(
         Map<Pattern, List<ClassOrInterfaceDeclaration>> map) {
-        List<ClassOrInterfaceDeclaration> interfaceComponents = map.get(
-            Pattern.DECORATOR_INTERFACE_COMPONENT);
-        List<ClassOrInterfaceDeclaration> concreteComponents = map.get(
-            Pattern.DECORATOR_CONCRETE_COMPONENT);
-        List<ClassOrInterfaceDeclaration> abstractDecorators = map.get(
-            Pattern.DECORATOR_ABSTRACT_DECORATOR);
-        List<ClassOrInterfaceDeclaration> concreteDecorators = map.get(
-            Pattern.DECORATOR_CONCRETE_DECORATOR);
-        HashMap<ClassOrInterfaceDeclaration, DecoratorPatternInstance> patternInstances =
-            new HashMap();
+        List<ClassOrInterfaceDeclaration> interfaceComponents = map.getOrDefault(
+            Pattern.DECORATOR_INTERFACE_COMPONENT, new ArrayList<>());
+        List<ClassOrInterfaceDeclaration> concreteComponents = map.getOrDefault(
+            Pattern.DECORATOR_CONCRETE_COMPONENT, new ArrayList<>());
+        List<ClassOrInterfaceDeclaration> abstractDecorators = map.getOrDefault(
+            Pattern.DECORATOR_ABSTRACT_DECORATOR, new ArrayList<>());
+        List<ClassOrInterfaceDeclaration> concreteDecorators = map.getOrDefault(
+            Pattern.DECORATOR_CONCRETE_DECORATOR, new ArrayList<>());
+        // Keyed by the number of the interface component, the instances are in declaration order.
+        Map<Integer, DecoratorPatternInstance> patternInstances = new LinkedHashMap<>();
 
         interfaceComponents.forEach((interfaceComponent) -> {
             DecoratorPatternInstance patternInstance = new DecoratorPatternInstance();
             patternInstance.interfaceComponent = interfaceComponent;
-            patternInstances.putIfAbsent(interfaceComponent, patternInstance);
+            patternInstances.putIfAbsent(DeclarationIds.idOf(interfaceComponent), patternInstance);
         });
 
-        ArrayList<ClassOrInterfaceDeclaration> identifiedElements = new ArrayList<>();
-
-        // Found no better way to populate PatternInstances than looping
-        // through everything multiple times
-        interfaceComponents.forEach((interfaceComponent) -> {
-            String interfaceName = interfaceComponent.getNameAsString();
-            concreteComponents.forEach(cc -> {
-                cc.getImplementedTypes().forEach(implementedInterface -> {
-                    if (implementedInterface.getNameAsString().equals(interfaceName)) {
-                        DecoratorPatternInstance patternInstance = patternInstances.get(
-                            interfaceComponent);
-                        patternInstance.concreteComponents.add(cc);
-                        identifiedElements.add(cc);
-                    }
-                });
-            });
-
-            abstractDecorators.forEach(ad -> {
-                ad.getImplementedTypes().forEach(implementedInterface -> {
-                    if (implementedInterface.getNameAsString().equals(interfaceName)) {
-                        DecoratorPatternInstance patternInstance = patternInstances.get(
-                            interfaceComponent);
-                        patternInstance.abstractDecorators.add(ad);
-                        identifiedElements.add(ad);
-
-                        concreteDecorators.forEach(cd -> {
-                            cd.getExtendedTypes().forEach(extendedClass -> {
-                                if (extendedClass.getNameAsString().equals(
-                                    ad.getName().asString())) {
-                                    patternInstance.concreteDecorators.add(cd);
-                                    identifiedElements.add(cd);
-                                }
-                            });
-                        });
-                    }
-                });
-            });
-            // If any elements are left then they are invalid instances
-            concreteComponents.removeAll(identifiedElements);
-            abstractDecorators.removeAll(identifiedElements);
-            concreteDecorators.removeAll(identifiedElements);
+        // Indexed once, so that each interface component only looks at the classes that
+        // implement it rather than at every class.
+        SubtypeIndex ccIndex = new SubtypeIndex(
+            concreteComponents, ClassOrInterfaceDeclaration::getImplementedTypes);
+        SubtypeIndex adIndex = new SubtypeIndex(
+            abstractDecorators, ClassOrInterfaceDeclaration::getImplementedTypes);
+        SubtypeIndex cdIndex = new SubtypeIndex(
+            concreteDecorators, ClassOrInterfaceDeclaration::getExtendedTypes);
+
+        DeclarationSet identifiedElements = new DeclarationSet();
+        for (ClassOrInterfaceDeclaration interfaceComponent : interfaceComponents) {
+            // Only left out for the interface components after this one, a class with two
+            // supertypes of this name is added twice.
+            identifiedElements.addAll(patternInstances.get(DeclarationIds.idOf(interfaceComponent))
+                                                      .addElements(ccIndex, adIndex, cdIndex,
+                                                                   identifiedElements));
+        }
 
-        });
         // If there are elements that do not relate to any of the previous
         // interface components, since they are invalid, put them in an
         // invalid pattern instance object for verify() to handle
+        var invalidInstance = new DecoratorPatternInstance();
+        invalidInstance.concreteComponents = identifiedElements.without(concreteComponents);
+        invalidInstance.abstractDecorators = identifiedElements.without(abstractDecorators);
+        invalidInstance.concreteDecorators = identifiedElements.without(concreteDecorators);
         if (!(
-            concreteComponents.isEmpty() && abstractDecorators.isEmpty() &&
-            concreteDecorators.isEmpty())) {
-            var patternInstance = new DecoratorPatternInstance();
-            patternInstance.concreteComponents = concreteComponents;
-            patternInstance.abstractDecorators = abstractDecorators;
-            patternInstance.concreteDecorators = concreteDecorators;
-            patternInstances.put(null, patternInstance);
+            invalidInstance.concreteComponents.isEmpty() &&
+            invalidInstance.abstractDecorators.isEmpty() &&
+            invalidInstance.concreteDecorators.isEmpty())) {
+            patternInstances.put(null, invalidInstance);
+        }
+
+        return new ArrayList<>(patternInstances.values());
+    }
+
+    /**
+     * Adds the classes that implement the interface component of this instance, and the concrete
+     * decorators of its abstract decorators, that are not already identified.
+     *
+     * @return the classes that were added.
+     */
+    private List<ClassOrInterfaceDeclaration> addElements(
+        SubtypeIndex ccIndex, SubtypeIndex adIndex, SubtypeIndex cdIndex,
+        DeclarationSet identifiedElements) {
+        String interfaceName = interfaceComponent.getNameAsString();
+        List<ClassOrInterfaceDeclaration> added = new ArrayList<>();
+
+        for (ClassOrInterfaceDeclaration cc : ccIndex.getSubtypes(interfaceName)) {
+            if (!identifiedElements.contains(cc)) {
+                concreteComponents.add(cc);
+                added.add(cc);
+            }
         }
 
-        return new ArrayList<DecoratorPatternInstance>(patternInstances.values());
+        for (ClassOrInterfaceDeclaration ad : adIndex.getSubtypes(interfaceName)) {
+            if (!identifiedElements.contains(ad)) {
+                abstractDecorators.add(ad);
+                added.add(ad);
+
+                for (ClassOrInterfaceDeclaration cd : cdIndex.getSubtypes(ad.getNameAsString())) {
+                    if (!identifiedElements.contains(cd)) {
+                        concreteDecorators.add(cd);
+                        added.add(cd);
+                    }
+                }
+            }
+        }
+        return added;
     }
 
     /**
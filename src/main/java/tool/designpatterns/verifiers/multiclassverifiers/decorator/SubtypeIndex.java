@@ -0,0 +1,52 @@
+package tool.designpatterns.verifiers.multiclassverifiers.decorator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+/**
+ * Maps the simple name of a supertype to the classes that extend or implement it, so that the
+ * classes of a supertype are found without looking at every class.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// An index is only used by the thread verifying the group it was built for.
+final class SubtypeIndex {
+
+    private final Map<String, List<ClassOrInterfaceDeclaration>> subtypes = new HashMap<>();
+
+    /**
+     * Indexes the given classes by the names of their supertypes.
+     *
+     * @param classes    the classes to index.
+     * @param supertypes the supertypes of a class to index it by, e.g. its implemented types.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    /* default */ SubtypeIndex(
+        List<ClassOrInterfaceDeclaration> classes,
+        Function<ClassOrInterfaceDeclaration, NodeList<ClassOrInterfaceType>> supertypes) {
+        for (ClassOrInterfaceDeclaration classOrI : classes) {
+            for (ClassOrInterfaceType supertype : supertypes.apply(classOrI)) {
+                subtypes.computeIfAbsent(supertype.getNameAsString(), name -> new ArrayList<>())
+                        .add(classOrI);
+            }
+        }
+    }
+
+    /**
+     * The classes with a supertype of the given name, in the order they were indexed. A class is
+     * included once for every supertype it has with the name.
+     *
+     * @param name the simple name of the supertype.
+     *
+     * @return the classes, or an empty list if there are none.
+     */
+    public List<ClassOrInterfaceDeclaration> getSubtypes(String name) {
+        return subtypes.getOrDefault(name, new ArrayList<>());
+    }
+}
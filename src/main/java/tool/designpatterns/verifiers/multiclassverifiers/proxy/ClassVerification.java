@@ -4,6 +4,8 @@ import java.util.List;
 
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 
+import tool.ProjectSymbolResolver;
+
 /**
  * Utility methods for verifying ClassOrInterfaceDeclarations.
  */
@@ -23,7 +25,7 @@ public final class ClassVerification {
      */
     public static boolean isSameClassOrInterfaceDeclaration(
         ClassOrInterfaceDeclaration first, ClassOrInterfaceDeclaration second) {
-        return first.resolve().getQualifiedName().equals(second.resolve().getQualifiedName());
+        return qualifiedNameOf(first).equals(qualifiedNameOf(second));
     }
 
     /**
@@ -47,4 +49,17 @@ public final class ClassVerification {
 
         return false;
     }
+
+    /**
+     * Returns the qualified name of a class or interface, resolved while holding the lock of the
+     * symbol resolver.
+     *
+     * @param classOrI the class or interface.
+     *
+     * @return the qualified name, e.g. "a.B".
+     */
+    public static String qualifiedNameOf(ClassOrInterfaceDeclaration classOrI) {
+        return ProjectSymbolResolver.withLock(
+            classOrI, () -> classOrI.resolve().getQualifiedName());
+    }
 }
@@ -1,15 +1,14 @@
 package tool.designpatterns.verifiers.multiclassverifiers.proxy;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
-import com.github.javaparser.resolution.types.ResolvedReferenceType;
 
-import tool.designpatterns.verifiers.multiclassverifiers.proxy.visitors.MethodCallVisitor;
-import tool.designpatterns.verifiers.multiclassverifiers.proxy.visitors.MethodDeclarationVisitor;
+import tool.ProjectSymbolResolver;
+import tool.designpatterns.verifiers.CallSite;
 import tool.feedback.Feedback;
 import tool.feedback.FeedbackTrace;
 import tool.feedback.FeedbackWrapper;
@@ -35,102 +34,65 @@ public final class MethodVerification {
     public static FeedbackWrapper<MethodDeclaration> classImplementsMethod(
         ClassOrInterfaceDeclaration theClass, ClassOrInterfaceDeclaration theInterface,
         MethodDeclaration method) {
+        return classImplementsMethod(
+            new SignatureTable(theClass), new SignatureTable(theInterface), method);
+    }
+
+    /**
+     * A method to find out if both the interface and the class implement the method, using the
+     * signature tables of the class and interface so they can be reused for every method.
+     *
+     * @param theClass     The table of the class to find a matching MethodDeclaration in.
+     * @param theInterface The table of the interface to find a matching MethodDeclaration in.
+     * @param method       The MethodDeclaration to be found in the class and interface.
+     *
+     * @return A feedbackwrapper containing a feedback and the class MethodDeclaration object.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // Justification: The signature tables are only used inside the proxy package.
+    /* default */ static FeedbackWrapper<MethodDeclaration> classImplementsMethod(
+        SignatureTable theClass, SignatureTable theInterface, MethodDeclaration method) {
 
         // Check if the class implements the interface / abstract class.
-        if (!classImplementsInterface(theClass, theInterface)) {
+        if (!theClass.isSubtypeOf(theInterface)) {
             return new FeedbackWrapper<>(Feedback.getNoChildFeedback(
-                "subject does not implement interface '" + theInterface.getNameAsString() + "'",
-                new FeedbackTrace(theClass)), null);
+                "subject does not implement interface '" +
+                theInterface.getClassOrI().getNameAsString() + "'",
+                new FeedbackTrace(theClass.getClassOrI())), null);
         }
 
-        MethodDeclarationVisitor mdv = new MethodDeclarationVisitor();
-        List<MethodDeclaration> implementedMethods = theClass.accept(mdv, theClass);
-        List<MethodDeclaration> interfaceMethods = theInterface.accept(mdv, theInterface);
-
-        Feedback feedback = checkValidity(implementedMethods, interfaceMethods, theInterface,
-            method);
+        Feedback feedback = checkValidity(theClass, theInterface, method);
         if (feedback.getIsError()) {
             return new FeedbackWrapper<>(feedback, method);
         }
 
-        boolean isInClass = false;
-        boolean isInInterface = false;
-        MethodDeclaration classDeclaration = new MethodDeclaration();
-
-        for (MethodDeclaration md : implementedMethods) {
-            if (md.getDeclarationAsString(false, false, false).equalsIgnoreCase(
-                method.getDeclarationAsString(false, false, false))) {
-                classDeclaration = md;
-                isInClass = true;
-                break;
-            }
-        }
-
-        for (MethodDeclaration md : interfaceMethods) {
-            if (md.getDeclarationAsString(false, false, false).equalsIgnoreCase(
-                method.getDeclarationAsString(false, false, false))) {
-                isInInterface = true;
-                break;
-            }
-        }
-
-        if (isInClass && isInInterface) {
+        MethodDeclaration classDeclaration = theClass.getMethod(method);
+        if (classDeclaration != null && theInterface.getMethod(method) != null) {
             return new FeedbackWrapper<>(Feedback.getSuccessfulFeedback(), classDeclaration);
         }
 
         String message = "The method is not implemented in the class or the interface";
         return new FeedbackWrapper<>(
-            Feedback.getNoChildFeedback(message, new FeedbackTrace(theInterface)), method);
+            Feedback.getNoChildFeedback(message, new FeedbackTrace(theInterface.getClassOrI())),
+            method);
     }
 
     private static Feedback checkValidity(
-        List<MethodDeclaration> implementedMethods, List<MethodDeclaration> interfaceMethods,
-        ClassOrInterfaceDeclaration theInterface, MethodDeclaration method) {
-        if (implementedMethods.isEmpty()) {
+        SignatureTable theClass, SignatureTable theInterface, MethodDeclaration method) {
+        if (theClass.hasNoMethods()) {
             String message = "There are no method declarations in the class";
             return Feedback.getNoChildFeedback(message, new FeedbackTrace(method));
-        } else if (interfaceMethods.isEmpty()) {
+        } else if (theInterface.hasNoMethods()) {
             String message = "There are no method declarations in the interface";
             return Feedback.getNoChildFeedback(message, new FeedbackTrace(method));
         } else if (method == null) {
             String message = "No such method";
-            return Feedback.getNoChildFeedback(message, new FeedbackTrace(theInterface));
+            return Feedback.getNoChildFeedback(message,
+                new FeedbackTrace(theInterface.getClassOrI()));
         }
         return Feedback.getSuccessfulFeedback();
     }
 
-    /**
-     * Verifies that the given class implements the given interface (or abstract class).
-     *
-     * @param theClass     the class to check.
-     * @param theInterface the interface to check for.
-     *
-     * @return true if the class implements the interface, otherwise false.
-     */
-    private static boolean classImplementsInterface(
-        ClassOrInterfaceDeclaration theClass, ClassOrInterfaceDeclaration theInterface) {
-
-        ResolvedReferenceTypeDeclaration resolvedInterfaceDec = theInterface.resolve();
-        for (ClassOrInterfaceType interf : theClass.getImplementedTypes()) {
-            ResolvedReferenceType resolvedInterface = interf.resolve();
-            if (resolvedInterface.getQualifiedName().equals(
-                resolvedInterfaceDec.getQualifiedName())) {
-                return true;
-            }
-        }
-
-        // The class does not implement the interface but it could extend it as an abstract class.
-        if (theInterface.isAbstract()) {
-            for (ClassOrInterfaceType extended : theClass.getExtendedTypes()) {
-                if (extended.resolve().getTypeDeclaration().equals(resolvedInterfaceDec)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Verifies if the given methods calls the others method and that it is called on the
      * otherType.
@@ -145,12 +107,21 @@ public final class MethodVerification {
         MethodDeclaration method, MethodDeclaration other,
         ResolvedReferenceTypeDeclaration otherType) {
 
-        Boolean result = method.accept(new MethodCallVisitor(otherType, other), null);
-        boolean value = false;
-        if (result != null) {
-            value = result;
+        List<CallSite> calls = CallSite.callsIn(method);
+        if (calls.isEmpty()) {
+            return false;
         }
-        return value;
+
+        Optional<String> otherName = Optional.of(qualifiedNameOf(other));
+        Optional<String> otherTypeName = Optional.of(
+            ProjectSymbolResolver.withLock(other, otherType::getQualifiedName));
+        for (CallSite call : calls) {
+            if (call.getCalleeName().equals(otherName) && call.getReceiverType().equals(
+                otherTypeName)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -162,8 +133,12 @@ public final class MethodVerification {
      * @return true if they are the same, false otherwise.
      */
     public static boolean methodsAreSame(MethodDeclaration methodA, MethodDeclaration methodB) {
-        String qualNameA = methodA.resolve().getQualifiedName();
-        String qualNameB = methodB.resolve().getQualifiedName();
+        String qualNameA = qualifiedNameOf(methodA);
+        String qualNameB = qualifiedNameOf(methodB);
         return qualNameA.equals(qualNameB);
     }
+
+    private static String qualifiedNameOf(MethodDeclaration method) {
+        return ProjectSymbolResolver.withLock(method, () -> method.resolve().getQualifiedName());
+    }
 }
@@ -30,18 +30,27 @@ public final class PartialProxyVerifier {
      * @return the result of the verification and list of ProxyInterfaceImplementations that can be
      *     empty.
      */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public static List<PartialProxyImplementation> verifyImplementors(
         List<InterfaceMethods> interfaces, List<ClassOrInterfaceDeclaration> implementors) {
 
         List<PartialProxyImplementation> proxyPatternParts = new ArrayList<>();
+        if (implementors.isEmpty()) {
+            return proxyPatternParts;
+        }
+
+        // The methods of every class are looked up by their signatures.
+        List<SignatureTable> interfaceTables = new ArrayList<>();
+        for (InterfaceMethods interfaceMethods : interfaces) {
+            interfaceTables.add(new SignatureTable(interfaceMethods.getInterfaceOrAClass()));
+        }
 
         // Go through each implementor and each interface and try to find matches.
         for (ClassOrInterfaceDeclaration implementor : implementors) {
-            for (InterfaceMethods interfaceMethods : interfaces) {
-                ClassOrInterfaceDeclaration interfaceOrAClass = interfaceMethods
-                    .getInterfaceOrAClass();
+            SignatureTable implementorTable = new SignatureTable(implementor);
+            for (int i = 0; i < interfaces.size(); i++) {
                 PartialProxyImplementation implementation = getPatternPart(
-                    implementor, interfaceOrAClass, interfaceMethods.getMethods());
+                    implementorTable, interfaceTables.get(i), interfaces.get(i).getMethods());
 
                 if (implementation != null) {
                     // We found a part of a proxy pattern!
@@ -57,15 +66,15 @@ public final class PartialProxyVerifier {
      * Verifies if the given implementor implements the interface as well as at least one of it's
      * (given) methods.
      *
-     * @param implementor       The implementor to verify for.
-     * @param interfaceOrAClass the interface to verify for.
+     * @param implementor       The table of the implementor to verify for.
+     * @param interfaceOrAClass the table of the interface to verify for.
      * @param interfaceMethods  the methods to verify for.
      *
      * @return a Partial Proxy representing the pattern part or null if the verification failed.
      */
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     private static PartialProxyImplementation getPatternPart(
-        ClassOrInterfaceDeclaration implementor, ClassOrInterfaceDeclaration interfaceOrAClass,
+        SignatureTable implementor, SignatureTable interfaceOrAClass,
         List<MethodDeclaration> interfaceMethods) {
 
         List<MethodGroupPart> implementedMethods = new ArrayList<>();
@@ -86,7 +95,7 @@ public final class PartialProxyVerifier {
             // This implementor implements the interface with at least one method, return a
             // ProxyInterfaceImplementation with them all.
             return new PartialProxyImplementation(
-                interfaceOrAClass, implementor, implementedMethods);
+                interfaceOrAClass.getClassOrI(), implementor.getClassOrI(), implementedMethods);
         }
 
         // This implementor appears not to implement the interface / any of it's methods.
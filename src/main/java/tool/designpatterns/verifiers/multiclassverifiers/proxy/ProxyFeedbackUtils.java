@@ -1,10 +1,11 @@
 package tool.designpatterns.verifiers.multiclassverifiers.proxy;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static tool.designpatterns.verifiers.multiclassverifiers.proxy.ClassVerification.classOrInterfaceListContains;
-import static tool.designpatterns.verifiers.multiclassverifiers.proxy.ClassVerification.isSameClassOrInterfaceDeclaration;
+import static tool.designpatterns.verifiers.multiclassverifiers.proxy.ClassVerification.qualifiedNameOf;
 
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 
@@ -15,6 +16,8 @@ import tool.designpatterns.verifiers.multiclassverifiers.proxy.datahelpers.Parti
 import tool.designpatterns.verifiers.multiclassverifiers.proxy.datahelpers.ProxyPatternGroup;
 import tool.feedback.Feedback;
 import tool.feedback.FeedbackTrace;
+import tool.util.DeclarationIds;
+import tool.util.DeclarationSet;
 
 /**
  * Utility class to assist with finding issues with / providing feedback for the Proxy pattern
@@ -89,24 +92,11 @@ public final class ProxyFeedbackUtils {
     private static List<ClassOrInterfaceDeclaration> getUnused(
         List<ClassOrInterfaceDeclaration> all, List<ProxyPatternGroup> valid, Pattern pattern) {
 
-        List<ClassOrInterfaceDeclaration> unused = new ArrayList<>();
-        for (ClassOrInterfaceDeclaration classOrI : all) {
-            boolean used = false;
-            // We cannot use .contains due to the fact that it can add the wrong class if
-            // identical classes are in different packages for example.
-            for (ProxyPatternGroup group : valid) {
-                if (isSameClassOrInterfaceDeclaration(group.getFromPattern(pattern), classOrI)) {
-                    used = true;
-                    break;
-                }
-            }
-
-            if (!used) {
-                unused.add(classOrI);
-            }
-        }
-
-        return unused;
+        // The used classes are compared by identity, an identical class in another package is
+        // still unused.
+        DeclarationSet used = new DeclarationSet();
+        valid.forEach(group -> used.add(group.getFromPattern(pattern)));
+        return used.without(all);
     }
 
     /**
@@ -119,28 +109,24 @@ public final class ProxyFeedbackUtils {
      * @return a new list containing the partial patterns that were not in any of the complete
      *     groups.
      */
+    @SuppressWarnings({"PMD.UseConcurrentHashMap", "PMD.AvoidInstantiatingObjectsInLoops"})
+    // The map is local to this method, it has a set for every interface.
     private static List<PartialProxyImplementation> getCorrectPartial(
         List<PartialProxyImplementation> partial, List<ProxyPatternGroup> complete,
         Pattern pattern) {
-        List<PartialProxyImplementation> newPartial = new ArrayList<>();
+        // The classes of the pattern used by the complete groups, by the number of their interface.
+        Map<Integer, DeclarationSet> usedWith = new HashMap<>();
+        for (ProxyPatternGroup completeGroup : complete) {
+            int interfaceId = DeclarationIds.idOf(completeGroup.getInterfaceOrAClass());
+            usedWith.putIfAbsent(interfaceId, new DeclarationSet());
+            usedWith.get(interfaceId).add(completeGroup.getFromPattern(pattern));
+        }
 
+        List<PartialProxyImplementation> newPartial = new ArrayList<>();
         for (PartialProxyImplementation partialGroup : partial) {
-            boolean isUsed = false;
-            for (ProxyPatternGroup completeGroup : complete) {
-                if (!isSameClassOrInterfaceDeclaration(partialGroup.getInterfaceOrAClass(),
-                    completeGroup.getInterfaceOrAClass())) {
-                    // The interface is not used.
-                    continue;
-                }
-
-                if (isSameClassOrInterfaceDeclaration(partialGroup.getInterfaceImplementor(),
-                    completeGroup.getFromPattern(pattern))) {
-                    // the pattern is also used.
-                    isUsed = true;
-                }
-            }
-
-            if (!isUsed) {
+            DeclarationSet used = usedWith.get(
+                DeclarationIds.idOf(partialGroup.getInterfaceOrAClass()));
+            if (used == null || !used.contains(partialGroup.getInterfaceImplementor())) {
                 newPartial.add(partialGroup);
             }
         }
@@ -238,34 +224,33 @@ public final class ProxyFeedbackUtils {
         List<Feedback> unusedFeedbacks = new ArrayList<>();
 
         // The lists of the previously 'unused' classes that were actually used in partial patterns.
-        Tuple3<List<ClassOrInterfaceDeclaration>, List<ClassOrInterfaceDeclaration>,
-            List<ClassOrInterfaceDeclaration>>
-            usedUnusedClasses = getUsedUnusedClasses(unusedProxies, unusedInterfaces,
-            unusedSubjects, proxyGroups, subjectGroups);
+        Tuple3<DeclarationSet, DeclarationSet, DeclarationSet> usedUnusedClasses =
+            getUsedUnusedClasses(unusedProxies, unusedInterfaces, unusedSubjects, proxyGroups,
+                subjectGroups);
 
-        List<ClassOrInterfaceDeclaration> usedProxies = usedUnusedClasses.getFirst();
+        DeclarationSet usedProxies = usedUnusedClasses.getFirst();
         unusedFeedbacks.addAll(getPartialFeedbacks(proxyGroups, subjectGroups));
 
         // Now add the feedback for the unused classes that are NOT in the usedUnusedList.
         unusedProxies.forEach(proxy -> {
-            if (!classOrInterfaceListContains(usedProxies, proxy)) {
+            if (!usedProxies.contains(proxy)) {
                 unusedFeedbacks.add(Feedback.getNoChildFeedback(
                     proxy.getNameAsString() + " is marked as proxy class but no " +
                     "accompanying interface or subject could be found.", new FeedbackTrace(proxy)));
             }
         });
-        List<ClassOrInterfaceDeclaration> usedInterfaces = usedUnusedClasses.getSecond();
+        DeclarationSet usedInterfaces = usedUnusedClasses.getSecond();
         unusedInterfaces.forEach(interf -> {
-            if (!classOrInterfaceListContains(usedInterfaces, interf)) {
+            if (!usedInterfaces.contains(interf)) {
                 unusedFeedbacks.add(Feedback.getNoChildFeedback(
                     interf.getNameAsString() + " is marked as proxy interface but no " +
                     "accompanying interface or subject could be found.",
                     new FeedbackTrace(interf)));
             }
         });
-        List<ClassOrInterfaceDeclaration> usedSubjects = usedUnusedClasses.getThird();
+        DeclarationSet usedSubjects = usedUnusedClasses.getThird();
         unusedProxies.forEach(subject -> {
-            if (!classOrInterfaceListContains(usedSubjects, subject)) {
+            if (!usedSubjects.contains(subject)) {
                 unusedFeedbacks.add(Feedback.getNoChildFeedback(
                     subject.getNameAsString() + " is marked as proxy subject but no " +
                     "accompanying interface or subject could be found.",
@@ -287,46 +272,43 @@ public final class ProxyFeedbackUtils {
      *
      * @return A tuple3 containing the
      */
-    private static Tuple3<List<ClassOrInterfaceDeclaration>, List<ClassOrInterfaceDeclaration>,
-        List<ClassOrInterfaceDeclaration>> getUsedUnusedClasses(
+    private static Tuple3<DeclarationSet, DeclarationSet, DeclarationSet> getUsedUnusedClasses(
         List<ClassOrInterfaceDeclaration> unusedProxies,
         List<ClassOrInterfaceDeclaration> unusedInterfaces,
         List<ClassOrInterfaceDeclaration> unusedSubjects,
         List<PartialProxyImplementation> proxyGroups,
         List<PartialProxyImplementation> subjectGroups) {
 
-        List<ClassOrInterfaceDeclaration> usedProxies = new ArrayList<>();
-        List<ClassOrInterfaceDeclaration> usedInterfaces = new ArrayList<>();
-        List<ClassOrInterfaceDeclaration> usedSubjects = new ArrayList<>();
+        DeclarationSet proxies = new DeclarationSet(unusedProxies);
+        DeclarationSet interfaces = new DeclarationSet(unusedInterfaces);
+        DeclarationSet subjects = new DeclarationSet(unusedSubjects);
+
+        DeclarationSet usedProxies = new DeclarationSet();
+        DeclarationSet usedInterfaces = new DeclarationSet();
+        DeclarationSet usedSubjects = new DeclarationSet();
 
         // Remove all the 'unused' classes used in partial groups (proxyGroups/subjectGroups).
         proxyGroups.forEach(proxyGroup -> {
             ClassOrInterfaceDeclaration proxy = proxyGroup.getInterfaceImplementor();
-            if (classOrInterfaceListContains(unusedProxies, proxy) && !classOrInterfaceListContains(
-                usedProxies, proxy)) {
+            if (proxies.contains(proxy)) {
                 usedProxies.add(proxy);
             }
 
             ClassOrInterfaceDeclaration interf = proxyGroup.getInterfaceOrAClass();
-            if (classOrInterfaceListContains(unusedInterfaces, interf) &&
-                !classOrInterfaceListContains(usedInterfaces, interf)) {
+            if (interfaces.contains(interf)) {
                 usedInterfaces.add(interf);
             }
         });
 
         subjectGroups.forEach(subjectGroup -> {
             ClassOrInterfaceDeclaration subject = subjectGroup.getInterfaceImplementor();
-            if (classOrInterfaceListContains(unusedSubjects, subject) &&
-                !classOrInterfaceListContains(usedSubjects, subject)) {
+            if (subjects.contains(subject)) {
                 usedSubjects.add(subject);
-
             }
 
             ClassOrInterfaceDeclaration interf = subjectGroup.getInterfaceOrAClass();
-            if (classOrInterfaceListContains(unusedInterfaces, interf) &&
-                !classOrInterfaceListContains(usedInterfaces, interf)) {
+            if (interfaces.contains(interf)) {
                 usedInterfaces.add(interf);
-
             }
         });
 
@@ -341,8 +323,8 @@ public final class ProxyFeedbackUtils {
 
         proxyGroups.forEach(proxyGroup -> {
             // Add feedback about this proxyGroup.
-            String proxyName = proxyGroup.getInterfaceImplementor().resolve().getQualifiedName();
-            String interfaceName = proxyGroup.getInterfaceOrAClass().resolve().getQualifiedName();
+            String proxyName = qualifiedNameOf(proxyGroup.getInterfaceImplementor());
+            String interfaceName = qualifiedNameOf(proxyGroup.getInterfaceOrAClass());
             feedbacks.add(Feedback.getPatternInstanceNoChildFeedback(
                 "No subject found for Proxy class / Proxy interface pair '" + proxyName + "' and " +
                 "'" + interfaceName + "'."));
@@ -350,9 +332,8 @@ public final class ProxyFeedbackUtils {
 
         subjectGroups.forEach(subjectGroup -> {
             // Add feedback about this subjectGroup.
-            String subjectName =
-                subjectGroup.getInterfaceImplementor().resolve().getQualifiedName();
-            String interfaceName = subjectGroup.getInterfaceOrAClass().resolve().getQualifiedName();
+            String subjectName = qualifiedNameOf(subjectGroup.getInterfaceImplementor());
+            String interfaceName = qualifiedNameOf(subjectGroup.getInterfaceOrAClass());
             feedbacks.add(Feedback.getPatternInstanceNoChildFeedback(
                 "No subject found for Proxy subject / Proxy interface pair '" + subjectName + "' " +
                 "and '" + interfaceName + "'."));
@@ -1,15 +1,14 @@
 package tool.designpatterns.verifiers.multiclassverifiers.proxy;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static tool.designpatterns.verifiers.multiclassverifiers.proxy.ClassVerification.isSameClassOrInterfaceDeclaration;
-
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
-import com.github.javaparser.resolution.types.ResolvedReferenceType;
 
+import tool.ProjectSymbolResolver;
 import tool.designpatterns.verifiers.multiclassverifiers.proxy.datahelpers.MethodGroup;
 import tool.designpatterns.verifiers.multiclassverifiers.proxy.datahelpers.MethodGroupPart;
 import tool.designpatterns.verifiers.multiclassverifiers.proxy.datahelpers.PartialProxyImplementation;
@@ -19,8 +18,11 @@ import tool.feedback.FeedbackTrace;
 import tool.feedback.FeedbackWrapper;
 
 /**
- * A class to verify and group parts of proxy patterns.
+ * A class to verify and group parts of proxy patterns. The proxies are indexed by their interface
+ * and the methods by their interface method, so only the parts that can be grouped are compared.
  */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// The index is only used by the thread verifying the proxy group.
 public final class ProxyGroupVerifier {
 
     private ProxyGroupVerifier() {
@@ -35,15 +37,24 @@ public final class ProxyGroupVerifier {
      *
      * @return A list of complete ProxyPatternGroups
      */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public static FeedbackWrapper<List<ProxyPatternGroup>> verifyParts(
         List<PartialProxyImplementation> subjects, List<PartialProxyImplementation> proxies) {
 
         List<Feedback> feedbacks = new ArrayList<>();
         List<ProxyPatternGroup> patternGroups = new ArrayList<>();
+        if (subjects.isEmpty() || proxies.isEmpty()) {
+            return new FeedbackWrapper<>(Feedback.getPatternInstanceFeedback(feedbacks),
+                patternGroups);
+        }
 
+        Map<String, List<ResolvedProxyPart>> proxiesByInterface = indexByInterface(proxies);
         for (PartialProxyImplementation subject : subjects) {
-            for (PartialProxyImplementation proxy : proxies) {
-                FeedbackWrapper<ProxyPatternGroup> group = tryGroup(subject, proxy);
+            ResolvedProxyPart resolvedSubject = new ResolvedProxyPart(subject);
+            // Proxies of other interfaces are definitely not in the same proxy pattern.
+            for (ResolvedProxyPart proxy : proxiesByInterface.getOrDefault(
+                resolvedSubject.getInterfaceName(), Collections.emptyList())) {
+                FeedbackWrapper<ProxyPatternGroup> group = tryGroup(resolvedSubject, proxy);
                 feedbacks.add(group.getFeedback());
                 if (group.getOther() != null) {
                     // It found a ProxyPatternGroup!
@@ -56,38 +67,51 @@ public final class ProxyGroupVerifier {
     }
 
     /**
-     * Tries to group the given proxy with the given subject.
+     * Indexes the given proxies by the qualified names of their interfaces.
      *
-     * @param subject the subject to check for.
-     * @param proxy   the proxy to check for.
+     * @param proxies the proxies to index.
+     *
+     * @return the proxies of every interface, in the order they were given.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static Map<String, List<ResolvedProxyPart>> indexByInterface(
+        List<PartialProxyImplementation> proxies) {
+        Map<String, List<ResolvedProxyPart>> index = new HashMap<>();
+        for (PartialProxyImplementation proxy : proxies) {
+            ResolvedProxyPart resolvedProxy = new ResolvedProxyPart(proxy);
+            index.computeIfAbsent(resolvedProxy.getInterfaceName(), name -> new ArrayList<>())
+                 .add(resolvedProxy);
+        }
+        return index;
+    }
+
+    /**
+     * Tries to group the given proxy with the given subject, which implement the same interface.
+     *
+     * @param resolvedSubject the subject to check for.
+     * @param resolvedProxy   the proxy to check for.
      *
      * @return The result of the verification / grouping and a ProxyPatternGroup should they be
      *     compatible or null otherwise.
      */
     private static FeedbackWrapper<ProxyPatternGroup> tryGroup(
-        PartialProxyImplementation subject, PartialProxyImplementation proxy) {
-
-        // Compare if they have the same interfaces.
-        boolean sameInterface = isSameClassOrInterfaceDeclaration(subject.getInterfaceOrAClass(),
-            proxy.getInterfaceOrAClass());
-        if (!sameInterface) {
-            // Not the same interface, definitely not the same proxy pattern.
-            return new FeedbackWrapper<>(Feedback.getSuccessfulFeedback(), null);
-        }
+        ResolvedProxyPart resolvedSubject, ResolvedProxyPart resolvedProxy) {
 
-        List<Feedback> potentialErrors = new ArrayList<>();
-        String subjectQualName = subject.getInterfaceImplementor().resolve().getQualifiedName();
+        ResolvedReferenceTypeDeclaration subjectType = resolvedSubject.getImplementor();
+        String subjectQualName = ProjectSymbolResolver.withLock(
+            resolvedSubject.getPart().getInterfaceImplementor(), subjectType::getQualifiedName);
 
         // They implement the same interface, check if the proxy has a private variable of the
         // subjects type.
-        boolean hasVariable = hasVariable(
-            subject.getInterfaceImplementor(), proxy.getInterfaceImplementor());
+        boolean hasVariable = resolvedProxy.hasPrivateVariableOf(subjectQualName);
 
         // Try to group the methods together.
-        List<MethodGroup> methodGroups = groupMethods(subject.getMethods(), proxy.getMethods());
+        List<MethodGroup> methodGroups = groupMethods(resolvedSubject, resolvedProxy);
 
         // Decide if this is the same Proxy pattern and either return them as a group or give an
         // error (or both).
+        PartialProxyImplementation proxy = resolvedProxy.getPart();
+        List<Feedback> potentialErrors = new ArrayList<>();
 
         if (hasVariable) {
             if (methodGroups.isEmpty()) {
@@ -109,7 +133,8 @@ public final class ProxyGroupVerifier {
         }
 
         // Verify if the proxies methods that calls the subjects methods.
-        boolean callsMethods = proxyCallsSubject(methodGroups, subject.getInterfaceImplementor());
+        PartialProxyImplementation subject = resolvedSubject.getPart();
+        boolean callsMethods = proxyCallsSubject(methodGroups, subjectType);
 
         if (callsMethods) {
             // Everything appears to be in order, return a valid ProxyPatternGroup.
@@ -135,53 +160,26 @@ public final class ProxyGroupVerifier {
         return new FeedbackWrapper<>(Feedback.getSuccessfulFeedback(), null);
     }
 
-    /**
-     * Returns if the proxy has a (private) variable of the subjects type.
-     *
-     * @param subject the type to check for.
-     * @param proxy   the class to check in.
-     *
-     * @return true if the proxy has the variable and false otherwise.
-     */
-    private static boolean hasVariable(
-        ClassOrInterfaceDeclaration subject, ClassOrInterfaceDeclaration proxy) {
-
-        ResolvedReferenceTypeDeclaration resolvedRefTypeDec = subject.resolve();
-
-        for (FieldDeclaration field : proxy.getFields()) {
-            if (field.isPrivate()) {
-                // Check if the field has the correct type.
-                ResolvedReferenceType fieldType = field.resolve().getType().asReferenceType();
-
-                if (fieldType.getQualifiedName().equals(resolvedRefTypeDec.getQualifiedName())) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Verifies and groups together MethodGroupParts for subject and proxies.
      *
-     * @param subjectGroups the subjects methodGroupParts.
-     * @param proxyGroups   the proxies methodGroupParts.
+     * @param subject the subject with its methodGroupParts.
+     * @param proxy   the proxy with its methodGroupParts.
      *
      * @return a new list with the grouped MethodGroups.
      */
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     private static List<MethodGroup> groupMethods(
-        List<MethodGroupPart> subjectGroups, List<MethodGroupPart> proxyGroups) {
+        ResolvedProxyPart subject, ResolvedProxyPart proxy) {
         List<MethodGroup> methodGroups = new ArrayList<>();
-        for (MethodGroupPart subjectGroup : subjectGroups) {
-            for (MethodGroupPart proxyGroup : proxyGroups) {
-                // Compare if they have the same interface method.
-                if (MethodVerification.methodsAreSame(subjectGroup.getInterfaceMethod(),
-                    proxyGroup.getInterfaceMethod())) {
-                    methodGroups.add(new MethodGroup(subjectGroup.getInterfaceMethod(),
-                        subjectGroup.getImplementorMethod(), proxyGroup.getImplementorMethod()));
-                }
+        List<MethodGroupPart> subjectGroups = subject.getPart().getMethods();
+        List<String> subjectNames = subject.getMethodNames();
+        for (int i = 0; i < subjectGroups.size(); i++) {
+            MethodGroupPart subjectGroup = subjectGroups.get(i);
+            // Compare with the proxy methods that have the same interface method.
+            for (MethodGroupPart proxyGroup : proxy.getMethods(subjectNames.get(i))) {
+                methodGroups.add(new MethodGroup(subjectGroup.getInterfaceMethod(),
+                    subjectGroup.getImplementorMethod(), proxyGroup.getImplementorMethod()));
             }
         }
 
@@ -193,15 +191,16 @@ public final class ProxyGroupVerifier {
      * subjects method.
      *
      * @param methodGroups the methodGroups to verify for.
+     * @param subject      the resolved subject.
      *
      * @return true if a proxy calls its' subject, otherwise false.
      */
     private static boolean proxyCallsSubject(
-        List<MethodGroup> methodGroups, ClassOrInterfaceDeclaration subject) {
+        List<MethodGroup> methodGroups, ResolvedReferenceTypeDeclaration subject) {
 
         for (MethodGroup methodGroup : methodGroups) {
             if (MethodVerification.methodCallsOther(methodGroup.getProxyMethod(),
-                methodGroup.getSubjectMethod(), subject.resolve())) {
+                methodGroup.getSubjectMethod(), subject)) {
                 return true;
             }
         }
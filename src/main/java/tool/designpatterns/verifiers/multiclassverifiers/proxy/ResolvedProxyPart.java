@@ -0,0 +1,138 @@
+package tool.designpatterns.verifiers.multiclassverifiers.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+import tool.ProjectSymbolResolver;
+import tool.designpatterns.verifiers.multiclassverifiers.proxy.datahelpers.MethodGroupPart;
+import tool.designpatterns.verifiers.multiclassverifiers.proxy.datahelpers.PartialProxyImplementation;
+
+/**
+ * A subject or proxy whose resolved names are kept, so that they are resolved once no matter how
+ * many other parts it is compared with. Every name is resolved the first time it is needed.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// The parts are only used by the thread verifying the proxy group.
+final class ResolvedProxyPart {
+
+    private final PartialProxyImplementation part;
+    private String interfaceName;
+    private ResolvedReferenceTypeDeclaration implementor;
+    private Set<String> privateFieldTypes;
+    private List<String> methodNames;
+    private Map<String, List<MethodGroupPart>> methodsByName;
+
+    /* default */ ResolvedProxyPart(PartialProxyImplementation part) {
+        this.part = part;
+    }
+
+    public PartialProxyImplementation getPart() {
+        return part;
+    }
+
+    /**
+     * The qualified name of the interface (or abstract class) of the part.
+     *
+     * @return the qualified name.
+     */
+    public String getInterfaceName() {
+        if (interfaceName == null) {
+            interfaceName = ClassVerification.qualifiedNameOf(part.getInterfaceOrAClass());
+        }
+        return interfaceName;
+    }
+
+    /**
+     * The resolved subject or proxy class of the part.
+     *
+     * @return the resolved declaration.
+     */
+    public ResolvedReferenceTypeDeclaration getImplementor() {
+        if (implementor == null) {
+            implementor = part.getInterfaceImplementor().resolve();
+        }
+        return implementor;
+    }
+
+    /**
+     * Returns if the subject or proxy class has a private variable of the given type.
+     *
+     * @param qualifiedName the qualified name of the type.
+     *
+     * @return true if there is such a variable, false otherwise.
+     */
+    public boolean hasPrivateVariableOf(String qualifiedName) {
+        if (privateFieldTypes == null) {
+            privateFieldTypes = new HashSet<>();
+            for (FieldDeclaration field : part.getInterfaceImplementor().getFields()) {
+                if (field.isPrivate()) {
+                    addReferenceTypes(field);
+                }
+            }
+        }
+        return privateFieldTypes.contains(qualifiedName);
+    }
+
+    /**
+     * The qualified names of the interface methods of the method parts, in the order of the part.
+     *
+     * @return the qualified names.
+     */
+    public List<String> getMethodNames() {
+        if (methodNames == null) {
+            methodNames = new ArrayList<>();
+            for (MethodGroupPart method : part.getMethods()) {
+                MethodDeclaration interfaceMethod = method.getInterfaceMethod();
+                methodNames.add(ProjectSymbolResolver.withLock(
+                    interfaceMethod, () -> interfaceMethod.resolve().getQualifiedName()));
+            }
+        }
+        return methodNames;
+    }
+
+    /**
+     * The method parts of the subject or proxy that implement the interface method with the given
+     * qualified name, in the order of the part.
+     *
+     * @param qualifiedName the qualified name of the interface method.
+     *
+     * @return the method parts, or an empty list if there are none.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public List<MethodGroupPart> getMethods(String qualifiedName) {
+        if (methodsByName == null) {
+            methodsByName = new HashMap<>();
+            List<String> names = getMethodNames();
+            for (int i = 0; i < names.size(); i++) {
+                methodsByName.computeIfAbsent(names.get(i), name -> new ArrayList<>()).add(
+                    part.getMethods().get(i));
+            }
+        }
+        return methodsByName.getOrDefault(qualifiedName, Collections.emptyList());
+    }
+
+    private void addReferenceTypes(FieldDeclaration field) {
+        for (VariableDeclarator variable : field.getVariables()) {
+            // The type of the field is solved outside of the symbol resolver.
+            Optional<String> typeName = ProjectSymbolResolver.withLock(variable, () -> {
+                ResolvedType type = variable.resolve().getType();
+                // Primitives and arrays can never hold the subject.
+                return type.isReferenceType() ? Optional.of(
+                    type.asReferenceType().getQualifiedName()) : Optional.empty();
+            });
+            typeName.ifPresent(privateFieldTypes::add);
+        }
+    }
+}
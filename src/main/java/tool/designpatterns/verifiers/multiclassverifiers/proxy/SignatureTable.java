@@ -0,0 +1,94 @@
+package tool.designpatterns.verifiers.multiclassverifiers.proxy;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+
+import tool.TypeHierarchy;
+import tool.designpatterns.verifiers.multiclassverifiers.proxy.visitors.MethodDeclarationVisitor;
+
+/**
+ * The methods of a class or interface by their signatures, so that finding out if a class
+ * implements a method does not look through all of its methods. The supertypes of the class are
+ * looked up in the {@link TypeHierarchy} of the analysis.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+// A table is only used by the thread verifying the proxy group.
+final class SignatureTable {
+
+    private final ClassOrInterfaceDeclaration classOrI;
+    private final Map<String, MethodDeclaration> methods = new HashMap<>();
+    private final Map<MethodDeclaration, String> signatures = new IdentityHashMap<>();
+
+    /**
+     * Creates the table of the methods declared in the class or interface (or in the classes
+     * declared in it).
+     *
+     * @param classOrI the class or interface.
+     */
+    /* default */ SignatureTable(ClassOrInterfaceDeclaration classOrI) {
+        this.classOrI = classOrI;
+        for (MethodDeclaration method : classOrI.accept(new MethodDeclarationVisitor(), classOrI)) {
+            String signature = signatureOf(method);
+            signatures.put(method, signature);
+            // The first method with the signature is the one that is found.
+            methods.putIfAbsent(signature, method);
+        }
+    }
+
+    public ClassOrInterfaceDeclaration getClassOrI() {
+        return classOrI;
+    }
+
+    public boolean hasNoMethods() {
+        return methods.isEmpty();
+    }
+
+    /**
+     * Returns the first method with the same signature as the given method, where the names of
+     * the types and the method are compared ignoring case.
+     *
+     * @param method the method to look for.
+     *
+     * @return the method, or null if there is none.
+     */
+    public MethodDeclaration getMethod(MethodDeclaration method) {
+        String signature = signatures.get(method);
+        if (signature == null) {
+            signature = signatureOf(method);
+        }
+        return methods.get(signature);
+    }
+
+    /**
+     * Verifies that the class implements the given interface, or extends it if it is an abstract
+     * class.
+     *
+     * @param theInterface the interface (or abstract class) to check for.
+     *
+     * @return true if the class implements the interface, otherwise false.
+     */
+    public boolean isSubtypeOf(SignatureTable theInterface) {
+        ClassOrInterfaceDeclaration supertype = theInterface.getClassOrI();
+        boolean canBeImplemented = supertype.isInterface() && !classOrI.isInterface() ||
+                                   supertype.isAbstract();
+        return canBeImplemented && TypeHierarchy.forNode(classOrI).isDirectSubtypeOf(
+            classOrI, supertype);
+    }
+
+    /**
+     * The signature of a method without its modifiers, exceptions and parameter names, with every
+     * character mapped so that two signatures are equal exactly when they are equal ignoring case.
+     */
+    private static String signatureOf(MethodDeclaration method) {
+        String declaration = method.getDeclarationAsString(false, false, false);
+        StringBuilder signature = new StringBuilder(declaration.length());
+        for (int i = 0; i < declaration.length(); i++) {
+            signature.append(Character.toLowerCase(Character.toUpperCase(declaration.charAt(i))));
+        }
+        return signature.toString();
+    }
+}
@@ -1,6 +1,5 @@
 package tool.designpatterns.verifiers.singleclassverifiers;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +13,7 @@ import tool.designpatterns.verifiers.IPatternGrouper;
 import tool.designpatterns.verifiers.IPatternVerifier;
 import tool.feedback.Feedback;
 import tool.feedback.PatternGroupFeedback;
+import tool.util.ParallelTasks;
 
 /**
  * A class that will verify a PatternGroup that only has one pattern (i.e. single class patterns)
@@ -26,7 +26,8 @@ public class SingleClassGrouper implements IPatternGrouper {
     /**
      * The constructor for this PatternGroup verifier.
      *
-     * @param verifier the verifier to use when verifying classes.
+     * @param verifier the verifier to use when verifying classes, it must be able to verify
+     *                 multiple classes at once.
      */
     public SingleClassGrouper(IPatternVerifier verifier) {
         this.verifier = verifier;
@@ -44,10 +45,9 @@ public class SingleClassGrouper implements IPatternGrouper {
             throw new IllegalArgumentException("Validation of map failed");
         }
 
-        List<Feedback> childFeedbacks = new ArrayList<>();
-        for (ClassOrInterfaceDeclaration classOrI : classOrIs) {
-            childFeedbacks.add(verifier.verify(classOrI));
-        }
+        // The classes are independent of each other, so they can be verified in parallel.
+        List<Feedback> childFeedbacks = ParallelTasks.mapInCurrentPool(
+            classOrIs, verifier::verify);
 
         return new PatternGroupFeedback(
             PatternUtils.patternGroupFromPattern(pattern), childFeedbacks);
@@ -4,26 +4,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.github.javaparser.ast.Modifier;
-import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.AssignExpr;
-import com.github.javaparser.ast.expr.Expression;
-import com.github.javaparser.ast.expr.NameExpr;
-import com.github.javaparser.ast.expr.VariableDeclarationExpr;
-import com.github.javaparser.ast.stmt.BlockStmt;
-import com.github.javaparser.ast.stmt.Statement;
 
 import tool.designpatterns.DesignPattern;
 import tool.designpatterns.Pattern;
+import tool.designpatterns.verifiers.ClassFacts;
 import tool.designpatterns.verifiers.IPatternVerifier;
 import tool.feedback.Feedback;
 import tool.feedback.FeedbackTrace;
 
 /**
- * A verifier for the immutable pattern.
+ * A verifier for the immutable pattern. The assignments in the class are found through its {@link
+ * ClassFacts}.
  */
 @DesignPattern(pattern = {Pattern.IMMUTABLE})
 public class ImmutableVerifier implements IPatternVerifier {
@@ -40,12 +36,13 @@ public class ImmutableVerifier implements IPatternVerifier {
      */
     @Override
     public Feedback verify(ClassOrInterfaceDeclaration interClass) {
+        ClassFacts facts = ClassFacts.forClass(interClass);
         List<FieldDeclaration> fields = interClass.getFields();
         List<Feedback> childFeedbacks = new ArrayList<>();
 
         fields.forEach(field -> {
             field.getVariables().forEach(var -> {
-                childFeedbacks.add(verifyField(field, interClass));
+                childFeedbacks.add(verifyField(field, interClass, facts));
             });
         });
 
@@ -57,10 +54,12 @@ public class ImmutableVerifier implements IPatternVerifier {
      *
      * @param field    the field to verify.
      * @param classOrI the class the field is contained in.
+     * @param facts    the facts of the class.
      *
      * @return whether or not the class is immutable.
      */
-    private Feedback verifyField(FieldDeclaration field, ClassOrInterfaceDeclaration classOrI) {
+    private Feedback verifyField(
+        FieldDeclaration field, ClassOrInterfaceDeclaration classOrI, ClassFacts facts) {
         if (field.hasModifier(Modifier.Keyword.STATIC) || field.hasModifier(
             Modifier.Keyword.FINAL)) {
             return Feedback.getSuccessfulFeedback();
@@ -76,7 +75,7 @@ public class ImmutableVerifier implements IPatternVerifier {
             List<MethodDeclaration> methods = classOrI.getMethods();
             field.getVariables().forEach(var -> {
                 methods.forEach(method -> {
-                    childFeedbacks.add(isAssignedIn(var, method));
+                    childFeedbacks.add(isAssignedIn(var, method, facts));
                 });
             });
         }
@@ -85,81 +84,31 @@ public class ImmutableVerifier implements IPatternVerifier {
     }
 
     /**
-     * Returns whether the given variable is ever assigned in the given method.
+     * Returns whether the given variable is ever assigned in the given method, also in nested
+     * blocks and lambdas. Parameters and local variables with the same name are other variables.
      *
      * @param variable the variable to check.
      * @param method   the method to check in.
+     * @param facts    the facts of the class of the method.
      *
      * @return if the variable was assigned in the method.
      */
-    @SuppressWarnings("PMD.LinguisticNaming")
-    private Feedback isAssignedIn(VariableDeclarator variable, MethodDeclaration method) {
-        BlockStmt methodBody;
-        if (method.getBody().isPresent()) {
-            methodBody = method.getBody().get();
-        } else {
-            // An empty method does not mutate the class...? 0.o
+    @SuppressWarnings({"PMD.LinguisticNaming", "PMD.AvoidInstantiatingObjectsInLoops"})
+    // A feedback is only created for every assignment of the variable.
+    private Feedback isAssignedIn(
+        VariableDeclarator variable, MethodDeclaration method, ClassFacts facts) {
+        List<AssignExpr> assignments = facts.getAssignments(method, variable.getNameAsString());
+        if (assignments.isEmpty()) {
             return Feedback.getSuccessfulFeedback();
         }
 
-        NodeList<Statement> statements = methodBody.getStatements();
-        // A list of variables that have been declared locally in the method this far.
-        List<String> localVars = new ArrayList<>();
-
         List<Feedback> childFeedbacks = new ArrayList<>();
-
-        for (Statement statement : statements) {
-            if (statement.isExpressionStmt()) {
-                Expression expr = statement.asExpressionStmt().getExpression();
-
-                // Check if the expression is the declaration of a local variable.
-                if (expr.isVariableDeclarationExpr()) {
-                    VariableDeclarationExpr varDecExpr = expr.asVariableDeclarationExpr();
-                    varDecExpr.getVariables().forEach(var -> {
-                        // Add the variable to the list of declared variables.
-                        localVars.add(var.getNameAsString());
-                    });
-                }
-
-                childFeedbacks.add(isVariableAssignment(expr, variable, localVars));
-            }
-        }
-
-        FeedbackTrace fimpl = new FeedbackTrace(method);
-        return Feedback.getFeedbackWithChildren(fimpl, childFeedbacks);
-    }
-
-    /**
-     * Is the given expression a variable assignment for the given variableDeclarator.
-     *
-     * @param expr      The expression to check.
-     * @param variable  The variable declaration to check against.
-     * @param localVars A list of variables that are in a local scope and therefore not the same
-     *                  variable.
-     */
-    @SuppressWarnings({"PMD.LinguisticNaming", "PMD.AvoidDeeplyNestedIfStmts"})
-    private Feedback isVariableAssignment(
-        Expression expr, VariableDeclarator variable, List<String> localVars) {
-        if (expr.isAssignExpr()) {
-            AssignExpr assignExpr = expr.asAssignExpr();
-            Expression target = assignExpr.getTarget();
-
-            if (target.isNameExpr()) {
-                NameExpr accessedVar = target.asNameExpr();
-                String name = accessedVar.getNameAsString();
-
-                // Compare the variables by name.
-                if (variable.getNameAsString().equals(name) && !localVars.contains(name)) {
-                    // The variable being assigned has the same name as the variable
-                    // we're checking for.
-
-                    return Feedback.getNoChildFeedback("Variable '" + name + "' is assigned.",
-                                                       new FeedbackTrace(assignExpr));
-
-                }
-            }
+        for (AssignExpr assignExpr : assignments) {
+            childFeedbacks.add(Feedback.getNoChildFeedback(
+                "Variable '" + variable.getNameAsString() + "' is assigned.",
+                new FeedbackTrace(assignExpr)));
         }
 
-        return Feedback.getSuccessfulFeedback();
+        return Feedback.getFeedbackWithChildren(new FeedbackTrace(method), childFeedbacks);
     }
 }
@@ -3,6 +3,7 @@ package tool.designpatterns.verifiers.singleclassverifiers.singleton;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.Node;
@@ -15,21 +16,25 @@ import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.stmt.IfStmt;
 
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+import tool.designpatterns.verifiers.ClassFacts;
 import tool.designpatterns.verifiers.IPatternVerifier;
 import tool.feedback.Feedback;
 import tool.feedback.FeedbackTrace;
 import tool.util.VariableReader;
 
 /**
- * A verifier for the singleton pattern.
+ * A verifier for the singleton pattern. What is found while verifying a class is kept in a {@link
+ * VerificationContext} for that call, so one verifier can verify several classes at once. The
+ * constructors, fields, methods and object creations of the class are taken from its {@link
+ * ClassFacts} instead of searching the class for each of them.
  */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+@SuppressWarnings("PMD.TooManyMethods")
+// The predicates can still be checked on their own, next to the ones verify uses.
 public class SingletonVerifier implements IPatternVerifier {
 
-    private final transient List<ConstructorDeclaration> constDeclList = new ArrayList<>();
-    private transient FieldDeclaration instanceVar;
-    private transient boolean isInstantiated;       // Tbh idk what transient means but PMD would
-    // not let it work without it.
-
     public SingletonVerifier() {
     }
 
@@ -38,14 +43,16 @@ public class SingletonVerifier implements IPatternVerifier {
         // boolean isValid = callsConstructor(classToVerify) && hasAStaticInstance(classToVerify) &&
         //                   onlyInstantiatedIfNull(classToVerify) && hasPrivateConstructor(
         //     classToVerify) && isInstantiated;
+        VerificationContext context = new VerificationContext();
         List<Feedback> childFeedbacks = new ArrayList<>();
         childFeedbacks.add(hasPrivateConstructor(classToVerify));
         childFeedbacks.add(findMultipleInstances(classToVerify));
         for (FieldDeclaration fieldDeclaration : VariableReader.readVariables(classToVerify)) {
-            childFeedbacks.add(staticInstance(fieldDeclaration, classToVerify.getNameAsString()));
+            childFeedbacks.add(
+                staticInstance(fieldDeclaration, classToVerify.getNameAsString(), context));
         }
-        childFeedbacks.add(onlyInstantiatedIfNull(classToVerify));
-        if (!isInstantiated) {
+        childFeedbacks.add(onlyInstantiatedIfNull(classToVerify, context));
+        if (!context.isInstantiated()) {
             childFeedbacks.add(Feedback.getNoChildFeedback(
                 "There is no way to instantiate the " + "class", new FeedbackTrace(classToVerify)));
         }
@@ -64,7 +71,7 @@ public class SingletonVerifier implements IPatternVerifier {
     public Feedback hasPrivateConstructor(ClassOrInterfaceDeclaration classToTest) {
         List<ConstructorDeclaration> publicConstructors = new ArrayList<>();
         // Finds and checks if the constructors are private or not.
-        classToTest.findAll(ConstructorDeclaration.class).forEach(constructor -> {
+        ClassFacts.forClass(classToTest).getConstructors().forEach(constructor -> {
             if (!constructor.isPrivate()) {
                 publicConstructors.add(constructor);
             }
@@ -83,6 +90,19 @@ public class SingletonVerifier implements IPatternVerifier {
         return Feedback.getFeedbackWithChildren(new FeedbackTrace(classToTest), childFeedbacks);
     }
 
+    /**
+     * Method for declaring if a FieldDeclaration is a private static field, on its own instead of
+     * as part of verifying the class.
+     *
+     * @param field     The field to look at.
+     * @param className the name of the class to check in.
+     *
+     * @return A Feedback holding the result
+     */
+    public Feedback staticInstance(FieldDeclaration field, String className) {
+        return staticInstance(field, className, new VerificationContext());
+    }
+
     /**
      * Method for declaring if a FieldDeclaration is a private static field. https://stackoverflow
      * .com/questions/53300710/how-to-parse-inner-class-from-java-source-code might help solving a
@@ -94,12 +114,13 @@ public class SingletonVerifier implements IPatternVerifier {
      * @return A Feedback holding the result
      */
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
-    public Feedback staticInstance(FieldDeclaration field, String className) {
+    private Feedback staticInstance(
+        FieldDeclaration field, String className, VerificationContext context) {
         boolean isStatic = false;
         List<Feedback> childFeedbacks = new ArrayList<>();
         if (field.getVariables().get(0).getType().toString().equals(className)) {
             if (!field.getVariables().get(0).getInitializer().isEmpty()) {
-                isInstantiated = true;
+                context.setInstantiated();
             }
             for (Modifier modifier : field.getModifiers()) {
                 String mdName = modifier.getKeyword().asString();
@@ -119,7 +140,7 @@ public class SingletonVerifier implements IPatternVerifier {
                     "never be initializeable so " + "it may never be used",
                     new FeedbackTrace(field)));
             }
-            instanceVar = field;
+            context.setInstanceVar(field);
         }
         if (childFeedbacks.isEmpty()) {
             return Feedback.getSuccessfulFeedback();
@@ -137,7 +158,7 @@ public class SingletonVerifier implements IPatternVerifier {
     public Feedback findMultipleInstances(ClassOrInterfaceDeclaration classToTest) {
         AtomicBoolean firstInstanceFound = new AtomicBoolean(false);
         List<Feedback> childFeedbacks = new ArrayList<>();
-        classToTest.findAll(FieldDeclaration.class).forEach(fieldDeclaration -> {
+        ClassFacts.forClass(classToTest).getFields().forEach(fieldDeclaration -> {
             if (firstInstanceFound.get()) {
                 childFeedbacks.add(Feedback.getNoChildFeedback("Found multiple instance fields",
                                                                new FeedbackTrace(
@@ -163,18 +184,14 @@ public class SingletonVerifier implements IPatternVerifier {
      */
     public boolean callsConstructor(ClassOrInterfaceDeclaration classToVerify) {
         boolean instanceMethod = true;
-        List<MethodDeclaration> methods = new ArrayList<>();
-        classToVerify.findAll(MethodDeclaration.class).forEach(methodDeclaration -> {
-            methods.add(methodDeclaration);
-        });
+        ClassFacts facts = ClassFacts.forClass(classToVerify);
+        List<MethodDeclaration> methods = facts.getMethods();
         for (MethodDeclaration declaration : methods) {
             if (declaration.getTypeAsString().equals(classToVerify.getNameAsString())) {
                 if (declaration.isStatic()) {
                     if (declaration.isPrivate()) {
-                        classToVerify.findAll(ConstructorDeclaration.class).forEach(
-                            constructor -> constDeclList.add(constructor));
-                        instanceMethod &= !isMethodCalledFromPublic(methods, declaration)
-                            .getIsError();   //
+                        instanceMethod &= !isMethodCalledFromPublic(
+                            methods, declaration, facts::getMethodCalls).getIsError();
                     } else {
                         instanceMethod &= true;
                     }
@@ -219,12 +236,24 @@ public class SingletonVerifier implements IPatternVerifier {
     @SuppressWarnings("PMD.LinguisticNaming")
     public Feedback isMethodCalledFromPublic(
         List<MethodDeclaration> allMethods, MethodDeclaration methodToLookFor) {
+        return isMethodCalledFromPublic(
+            allMethods, methodToLookFor, method -> method.findAll(MethodCallExpr.class));
+    }
+
+    /**
+     * Like {@link #isMethodCalledFromPublic(List, MethodDeclaration)}, but the calls in each method
+     * are given by a function, so that they do not have to be searched for again.
+     */
+    @SuppressWarnings("PMD.LinguisticNaming")
+    private Feedback isMethodCalledFromPublic(
+        List<MethodDeclaration> allMethods, MethodDeclaration methodToLookFor,
+        Function<MethodDeclaration, List<MethodCallExpr>> callsIn) {
         List<MethodCallExpr> publicCalls = new ArrayList<>();
         List<MethodCallExpr> privateCalls = new ArrayList<>();
         List<Feedback> childFeedbacks = new ArrayList<>();
         boolean result = false;
         for (MethodDeclaration current : allMethods) {
-            current.findAll(MethodCallExpr.class).forEach(methodCallExpr -> {
+            callsIn.apply(current).forEach(methodCallExpr -> {
                 if (methodCallExpr.getChildNodes().get(0).toString().equals(
                     methodToLookFor.getNameAsString())) {
                     if (current.isPrivate()) {
@@ -241,8 +270,8 @@ public class SingletonVerifier implements IPatternVerifier {
                 Node node = currentExpr;
                 while (!(node instanceof ClassOrInterfaceDeclaration) && !result) {
                     if (node instanceof MethodDeclaration) {
-                        result = !isMethodCalledFromPublic(allMethods, (MethodDeclaration) node)
-                            .getIsError();
+                        result = !isMethodCalledFromPublic(
+                            allMethods, (MethodDeclaration) node, callsIn).getIsError();
                         break;
                     } else {
                         node = node.getParentNode().get();
@@ -268,16 +297,36 @@ public class SingletonVerifier implements IPatternVerifier {
      * @return true, if a check that the instance variable is null before the constructor is called
      *     is performed.
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public Feedback onlyInstantiatedIfNull(ClassOrInterfaceDeclaration classToVerify) {
+        // The instance variable is found by looking at the fields first, as verify does.
+        VerificationContext context = new VerificationContext();
+        for (FieldDeclaration fieldDeclaration : VariableReader.readVariables(classToVerify)) {
+            staticInstance(fieldDeclaration, classToVerify.getNameAsString(), context);
+        }
+        return onlyInstantiatedIfNull(classToVerify, context);
+    }
+
+    /**
+     * Like {@link #onlyInstantiatedIfNull(ClassOrInterfaceDeclaration)}, with the instance
+     * variable that was found while verifying the class.
+     *
+     * @param classToVerify The ClassOrInterfaceDeclaration representing the java class to look at
+     * @param context       what was found while verifying the class.
+     *
+     * @return the feedback of the check.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private Feedback onlyInstantiatedIfNull(
+        ClassOrInterfaceDeclaration classToVerify, VerificationContext context) {
+        FieldDeclaration instanceVar = context.getInstanceVar();
         List<Feedback> childFeedbacks = new ArrayList<>();
         String feedbackString =
             "Object can be instatiated even if there is another instace created";
         AtomicBoolean onlyIfNull = new AtomicBoolean(true);
-        classToVerify.findAll(ObjectCreationExpr.class).forEach(objInstExpr -> {
+        ClassFacts.forClass(classToVerify).getObjectCreations().forEach(objInstExpr -> {
             if (objInstExpr.getTypeAsString().equals(classToVerify.getNameAsString())) {
                 Node node = objInstExpr.getParentNodeForChildren();
-                while (true && !isInstantiated) {
+                while (true && !context.isInstantiated()) {
                     if (node instanceof IfStmt) {
                         IfStmt ifStmtNode = (IfStmt) node;
                         if (ifStmtNode.getCondition().isBinaryExpr()) {
@@ -320,7 +369,7 @@ public class SingletonVerifier implements IPatternVerifier {
             }
         });
         if (onlyIfNull.get()) {
-            isInstantiated = true;
+            context.setInstantiated();
         }
         if (childFeedbacks.isEmpty()) {
             return Feedback.getSuccessfulFeedback();
@@ -368,4 +417,31 @@ public class SingletonVerifier implements IPatternVerifier {
         return isOfType;
     }
 
+    /**
+     * What has been found so far while verifying one class.
+     */
+    private static final class VerificationContext {
+
+        private FieldDeclaration instanceVar;
+        private boolean instantiated;
+
+        /* default */ VerificationContext() {
+        }
+
+        public FieldDeclaration getInstanceVar() {
+            return instanceVar;
+        }
+
+        public void setInstanceVar(FieldDeclaration instanceVar) {
+            this.instanceVar = instanceVar;
+        }
+
+        public boolean isInstantiated() {
+            return instantiated;
+        }
+
+        public void setInstantiated() {
+            instantiated = true;
+        }
+    }
 }
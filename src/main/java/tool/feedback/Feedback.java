@@ -1,38 +1,61 @@
 package tool.feedback;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import tool.designpatterns.DesignPattern;
 import tool.designpatterns.Pattern;
 
 /**
- * Simple class to store and manage feedback to the user.
+ * Simple class to store and manage feedback to the user. Only errors are worth keeping, so every
+ * feedback that is not an error is the same shared instance and the children of a feedback are
+ * only stored if there are errors among them.
  */
 @DesignPattern(pattern = {Pattern.IMMUTABLE})
 public final class Feedback {
 
     private static final String LINE_PREFIX = "  ";
+    private static final Feedback SUCCESS = new Feedback(false, "", null, null);
     private final String message;
     private final List<Feedback> children;
     private final FeedbackTrace stackTrace;
-    private boolean isError;
+    private final boolean isError;
 
     private Feedback(
         boolean isError, String message, FeedbackTrace stackTrace, List<Feedback> children) {
-        this.isError = isError;
         this.message = message;
         this.stackTrace = stackTrace;
-        this.children = new ArrayList<>();
+        this.children = getErrors(children);
+        this.isError = isError || !this.children.isEmpty();
+    }
+
+    /**
+     * Returns the children that are errors, the list is only allocated if there are any.
+     */
+    private static List<Feedback> getErrors(List<Feedback> children) {
+        if (!hasError(children)) {
+            return Collections.emptyList();
+        }
 
+        List<Feedback> errors = new ArrayList<>();
+        for (Feedback child : children) {
+            if (child != null && child.getIsError()) {
+                errors.add(child);
+            }
+        }
+        return Collections.unmodifiableList(errors);
+    }
+
+    private static boolean hasError(List<Feedback> children) {
         if (children != null) {
             for (Feedback child : children) {
                 if (child != null && child.getIsError()) {
-                    this.isError = true;
-                    this.children.add(child);
+                    return true;
                 }
             }
         }
+        return false;
     }
 
     /**
@@ -51,7 +74,8 @@ public final class Feedback {
 
     /**
      * Get a new feedback that has children. Calls the constructor which will in term determine
-     * wether this is an error or not by looking at if the children are errors or not.
+     * wether this is an error or not by looking at if the children are errors or not. If none of
+     * them are, the successful feedback is returned instead.
      *
      * @param stackTrace the element where the error occured.
      * @param children   the child feedback elements to this feedback.
@@ -63,6 +87,9 @@ public final class Feedback {
         if (children == null) {
             throw new IllegalArgumentException("Child list must not be null.");
         }
+        if (!hasError(children)) {
+            return SUCCESS;
+        }
 
         return new Feedback(false, "", stackTrace, children);
     }
@@ -87,16 +114,36 @@ public final class Feedback {
      *                 contain multiple.
      */
     public static Feedback getPatternInstanceFeedback(List<Feedback> children) {
+        if (!hasError(children)) {
+            return SUCCESS;
+        }
         return new Feedback(false, "", null, children);
     }
 
     /**
-     * Get a new feedback that is not an error.
+     * Get a feedback that is not an error, it is shared as there is nothing to tell about it.
      *
      * @return a feedback that is not an error.
      */
     public static Feedback getSuccessfulFeedback() {
-        return new Feedback(false, "", null, null);
+        return SUCCESS;
+    }
+
+    /**
+     * Recreates a feedback exactly as it was before it was stored, see {@link FeedbackJson}.
+     *
+     * @param isError    if the feedback itself (disregarding its children) is an error.
+     * @param message    the message of the feedback.
+     * @param stackTrace the element where the error occured, may be null.
+     * @param children   the child feedbacks.
+     *
+     * @return the recreated feedback.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // Only the serializer in this package should be able to create arbitrary feedbacks.
+    /* default */ static Feedback getRestoredFeedback(
+        boolean isError, String message, FeedbackTrace stackTrace, List<Feedback> children) {
+        return new Feedback(isError, message, stackTrace, children);
     }
 
     @SuppressWarnings("PMD.BooleanGetMethodName") // If anyone
@@ -114,48 +161,30 @@ public final class Feedback {
     }
 
     /**
-     * Returns the full stackTrace with messages.
+     * Returns the element where the error occured.
      *
-     * @return full message with stackTrace.
+     * @return the stacktrace, or null if the feedback is not tied to a single element.
      */
-    public String getFullMessage() {
-        return getFullMessage(LINE_PREFIX);
+    public FeedbackTrace getStackTrace() {
+        return this.stackTrace;
     }
 
-    private String getFullMessage(String linePrefix) {
-        // We only want a message if it was an error.
-        if (!this.isError) {
-            return "";
-        }
-
-        StringBuilder message = new StringBuilder();
-        StringBuilder childPrefix = new StringBuilder(linePrefix);
-        if (this.stackTrace != null) {
-            message.append(linePrefix);
-            message.append(this.stackTrace.toString());
-            message.append(" : ");
-            childPrefix.append(LINE_PREFIX);
-        }
-
-        if (this.children.isEmpty()) {
-            // We don't have any children, i.e. we're the 'leaf' node and therefore we print our
-            // message.
-            if (this.stackTrace == null) {
-                message.append(linePrefix);
-            }
-
-            message.append(getMessage()).append('\n');
-        } else if (this.stackTrace != null) {
-            message.append('\n');
-        }
-
-        if (!this.children.isEmpty()) {
-            // We want to print all of our children in a nice way.
-            for (Feedback child : this.children) {
-                message.append(child.getFullMessage(childPrefix.toString()));
-            }
-        }
+    /**
+     * Returns the children of this feedback, only children that are errors are kept.
+     *
+     * @return an unmodifiable list of the children.
+     */
+    public List<Feedback> getChildren() {
+        return this.children;
+    }
 
-        return message.toString();
+    /**
+     * Returns the full stackTrace with messages, see {@link FeedbackWriter} to write it somewhere
+     * without building the string.
+     *
+     * @return full message with stackTrace.
+     */
+    public String getFullMessage() {
+        return FeedbackWriter.render(this, LINE_PREFIX);
     }
 }
@@ -0,0 +1,118 @@
+package tool.feedback;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+import com.github.javaparser.Range;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+import tool.designpatterns.PatternGroup;
+
+/**
+ * Converts feedback to and from JSON so that it can be stored between runs. A feedback that has
+ * been read back gives the exact same messages as the original.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class FeedbackJson {
+
+    private static final String GROUP = "group";
+    private static final String FEEDBACKS = "feedbacks";
+    private static final String ERROR = "error";
+    private static final String MESSAGE = "message";
+    private static final String TRACE = "trace";
+    private static final String CHILDREN = "children";
+    private static final String FILE = "file";
+    private static final String RANGE = "range";
+
+    private FeedbackJson() {
+
+    }
+
+    /**
+     * Converts the feedback of a pattern group to JSON.
+     *
+     * @param feedback the feedback to convert.
+     *
+     * @return the JSON representation of the feedback.
+     */
+    public static JsonObject toJson(PatternGroupFeedback feedback) {
+        JsonArrayBuilder feedbacks = Json.createArrayBuilder();
+        for (Feedback child : feedback.getFeedbacks()) {
+            feedbacks.add(feedbackToJson(child));
+        }
+
+        return Json.createObjectBuilder().add(GROUP, feedback.getPatternGroup().name())
+                   .add(FEEDBACKS, feedbacks).build();
+    }
+
+    /**
+     * Reads the feedback of a pattern group from JSON created by {@link
+     * #toJson(PatternGroupFeedback)}.
+     *
+     * @param json the JSON to read.
+     *
+     * @return the feedback.
+     */
+    public static PatternGroupFeedback fromJson(JsonObject json) {
+        List<Feedback> feedbacks = new ArrayList<>();
+        for (JsonValue child : json.getJsonArray(FEEDBACKS)) {
+            feedbacks.add(feedbackFromJson((JsonObject) child));
+        }
+
+        return new PatternGroupFeedback(PatternGroup.valueOf(json.getString(GROUP)), feedbacks);
+    }
+
+    private static JsonObject feedbackToJson(Feedback feedback) {
+        JsonObjectBuilder json = Json.createObjectBuilder();
+        json.add(ERROR, feedback.getIsError());
+        json.add(MESSAGE, feedback.getMessage());
+        FeedbackTrace trace = feedback.getStackTrace();
+        if (trace != null) {
+            json.add(TRACE, trace.toString());
+            trace.getFile().ifPresent(file -> json.add(FILE, file.toString()));
+            trace.getRange().ifPresent(range -> json.add(RANGE, Json.createArrayBuilder().add(
+                range.begin.line).add(range.begin.column).add(range.end.line).add(
+                range.end.column)));
+        }
+
+        JsonArrayBuilder children = Json.createArrayBuilder();
+        for (Feedback child : feedback.getChildren()) {
+            children.add(feedbackToJson(child));
+        }
+        json.add(CHILDREN, children);
+
+        return json.build();
+    }
+
+    private static Feedback feedbackFromJson(JsonObject json) {
+        FeedbackTrace trace = null;
+        if (json.containsKey(TRACE)) {
+            Path file = json.containsKey(FILE) ? Paths.get(json.getString(FILE)) : null;
+            Range range = null;
+            if (json.containsKey(RANGE)) {
+                JsonArray lines = json.getJsonArray(RANGE);
+                range = Range.range(
+                    lines.getInt(0), lines.getInt(1), lines.getInt(2), lines.getInt(3));
+            }
+            trace = new FeedbackTrace(json.getString(TRACE), file, range);
+        }
+
+        List<Feedback> children = new ArrayList<>();
+        JsonArray childArray = json.getJsonArray(CHILDREN);
+        for (JsonValue child : childArray) {
+            children.add(feedbackFromJson((JsonObject) child));
+        }
+
+        return Feedback.getRestoredFeedback(
+            json.getBoolean(ERROR), json.getString(MESSAGE), trace, children);
+    }
+}
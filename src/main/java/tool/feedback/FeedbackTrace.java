@@ -1,6 +1,11 @@
 package tool.feedback;
 
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
 import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
@@ -14,16 +19,41 @@ import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedTypeDeclaration;
 
 import org.apache.commons.lang.NotImplementedException;
+import tool.ProjectSymbolResolver;
 import tool.designpatterns.DesignPattern;
 import tool.designpatterns.Pattern;
 
 /**
  * A ''stacktrace'' class made to track where errors occur when traversing the javaparser AST.
+ * Only the node is kept, the message is not built (nor the node resolved) until it is asked for,
+ * as most traces belong to feedback that is never shown. Once built, the message and where the
+ * node was are kept instead of the node, so a shown trace does not resolve it again.
  */
 @DesignPattern(pattern = {Pattern.IMMUTABLE})
 public final class FeedbackTrace {
 
-    private String message;
+    private final AtomicReference<Contents> contents;
+
+    /**
+     * Recreates a stacktrace from its message, used when reading stored feedback.
+     *
+     * @param message the message of the stacktrace.
+     */
+    /* default */ FeedbackTrace(String message) {
+        this(null, message, null, null);
+    }
+
+    /**
+     * Recreates a stacktrace from its message and where the element was, used when reading
+     * stored feedback.
+     *
+     * @param message the message of the stacktrace.
+     * @param file    the file of the element, may be null.
+     * @param range   the range of the element, may be null.
+     */
+    /* default */ FeedbackTrace(String message, Path file, Range range) {
+        this(null, message, file, range);
+    }
 
     /**
      * Feedback implementations for statements.
@@ -31,7 +61,7 @@ public final class FeedbackTrace {
      * @param statement the statement.
      */
     public FeedbackTrace(Statement statement) {
-        message = getStringStart(statement);
+        this(statement, null, null, null);
     }
 
     /**
@@ -40,7 +70,7 @@ public final class FeedbackTrace {
      * @param expression the expression.
      */
     public FeedbackTrace(Expression expression) {
-        message = getStringStart(expression);
+        this(expression, null, null, null);
     }
 
     /**
@@ -49,9 +79,7 @@ public final class FeedbackTrace {
      * @param variable the variable.
      */
     public FeedbackTrace(VariableDeclarator variable) {
-        StringBuilder msg = new StringBuilder(getStringStart(variable));
-        msg.append(" for variable ").append(variable.getNameAsString());
-        message = msg.toString();
+        this(variable, null, null, null);
     }
 
     /**
@@ -60,10 +88,7 @@ public final class FeedbackTrace {
      * @param constructor the constructor.
      */
     public FeedbackTrace(ConstructorDeclaration constructor) {
-        StringBuilder msg = new StringBuilder(getStringStart(constructor));
-        ResolvedConstructorDeclaration resolvedConstructor = constructor.resolve();
-        msg.append(" in constructor ").append(resolvedConstructor.getQualifiedName());
-        message = msg.toString();
+        this(constructor, null, null, null);
     }
 
     /**
@@ -72,10 +97,7 @@ public final class FeedbackTrace {
      * @param method the method.
      */
     public FeedbackTrace(MethodDeclaration method) {
-        StringBuilder msg = new StringBuilder(getStringStart(method));
-        ResolvedMethodDeclaration resolvedMethod = method.resolve();
-        msg.append(" in method ").append(resolvedMethod.getQualifiedName());
-        message = msg.toString();
+        this(method, null, null, null);
     }
 
     /**
@@ -84,10 +106,7 @@ public final class FeedbackTrace {
      * @param type the type.
      */
     public FeedbackTrace(TypeDeclaration type) {
-        StringBuilder msg = new StringBuilder(getStringStart(type));
-        ResolvedTypeDeclaration resolvedType = type.resolve();
-        msg.append(" in class ").append(resolvedType.getQualifiedName());
-        message = msg.toString();
+        this(type, null, null, null);
     }
 
     /**
@@ -96,26 +115,7 @@ public final class FeedbackTrace {
      * @param field the field.
      */
     public FeedbackTrace(FieldDeclaration field) {
-        StringBuilder msg = new StringBuilder(getStringStart(field));
-        msg.append(" in the field declarations for variables: ");
-        boolean comma = false;
-        for (VariableDeclarator variable : field.getVariables()) {
-            if (comma) {
-                msg.append(", ");
-            }
-            msg.append(variable.getNameAsString());
-            comma = true;
-        }
-        message = msg.toString();
-    }
-
-    private String getStringStart(Node node) {
-        if (!node.getRange().isPresent()) {
-            return "";
-        }
-
-        Range range = node.getRange().get();
-        return "On lines " + range.begin.line + " - " + range.end.line;
+        this(field, null, null, null);
     }
 
     /**
@@ -135,8 +135,110 @@ public final class FeedbackTrace {
             node.toString());
     }
 
+    /**
+     * Creates a stacktrace of either a node or a stored message and location, the other is null.
+     */
+    private FeedbackTrace(Node node, String message, Path file, Range range) {
+        this.contents = new AtomicReference<>(new Contents(node, message, file, range));
+    }
+
+    /**
+     * Returns the file that the element is declared in.
+     *
+     * @return the file, or empty if it is not known.
+     */
+    public Optional<Path> getFile() {
+        return Optional.ofNullable(build().file);
+    }
+
+    /**
+     * Returns the lines and columns of the element in its file.
+     *
+     * @return the range, or empty if it is not known.
+     */
+    public Optional<Range> getRange() {
+        return Optional.ofNullable(build().range);
+    }
+
+    /**
+     * Builds the message of the node the first time it is asked for. Two threads may both build
+     * it, they build the same message.
+     */
+    private Contents build() {
+        Contents current = contents.get();
+        if (current.node == null) {
+            return current;
+        }
+        Node node = current.node;
+        String message = getStringStart(node) + ProjectSymbolResolver.withLock(
+            node, () -> getStringEnd(node));
+        Path file = node.findCompilationUnit().flatMap(CompilationUnit::getStorage).map(
+            CompilationUnit.Storage::getPath).orElse(null);
+        Contents built = new Contents(null, message, file, node.getRange().orElse(null));
+        contents.compareAndSet(current, built);
+        return built;
+    }
+
+    private static String getStringStart(Node node) {
+        if (!node.getRange().isPresent()) {
+            return "";
+        }
+
+        Range range = node.getRange().get();
+        return "On lines " + range.begin.line + " - " + range.end.line;
+    }
+
+    /**
+     * Describes the node after its lines, for the nodes that have a name.
+     */
+    private static String getStringEnd(Node node) {
+        if (node instanceof VariableDeclarator) {
+            return " for variable " + ((VariableDeclarator) node).getNameAsString();
+        } else if (node instanceof ConstructorDeclaration) {
+            ResolvedConstructorDeclaration resolvedConstructor =
+                ((ConstructorDeclaration) node).resolve();
+            return " in constructor " + resolvedConstructor.getQualifiedName();
+        } else if (node instanceof MethodDeclaration) {
+            ResolvedMethodDeclaration resolvedMethod = ((MethodDeclaration) node).resolve();
+            return " in method " + resolvedMethod.getQualifiedName();
+        } else if (node instanceof TypeDeclaration) {
+            ResolvedTypeDeclaration resolvedType = ((TypeDeclaration<?>) node).resolve();
+            return " in class " + resolvedType.getQualifiedName();
+        } else if (node instanceof FieldDeclaration) {
+            StringBuilder msg = new StringBuilder(" in the field declarations for variables: ");
+            boolean comma = false;
+            for (VariableDeclarator variable : ((FieldDeclaration) node).getVariables()) {
+                if (comma) {
+                    msg.append(", ");
+                }
+                msg.append(variable.getNameAsString());
+                comma = true;
+            }
+            return msg.toString();
+        }
+        return "";
+    }
+
     @Override
     public String toString() {
-        return message;
+        return build().message;
+    }
+
+    /**
+     * Either the node of the trace, or its message and where it was, the others are null.
+     */
+    private static final class Contents {
+
+        private final Node node;
+        private final String message;
+        private final Path file;
+        private final Range range;
+
+        private Contents(Node node, String message, Path file, Range range) {
+            this.node = node;
+            this.message = message;
+            this.file = file;
+            this.range = range;
+        }
     }
 }
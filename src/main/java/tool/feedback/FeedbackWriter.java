@@ -0,0 +1,182 @@
+package tool.feedback;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes feedback to an {@link Appendable} (a console, a file or a string) in a single walk of the
+ * feedback tree. The writer can be limited to a number of lines, once they are written the rest
+ * of the feedback is skipped without being rendered.
+ */
+public final class FeedbackWriter {
+
+    private static final String LINE_PREFIX = "  ";
+    private static final String SEPARATOR = "------------------\n";
+
+    private final Appendable out;
+    private final int maxLines;
+    private int lines;
+    private boolean truncated;
+
+    /**
+     * Creates a writer that writes all feedback to the given output.
+     *
+     * @param out where to write the feedback.
+     */
+    public FeedbackWriter(Appendable out) {
+        this(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a writer that writes at most the given number of lines to the given output.
+     *
+     * @param out      where to write the feedback.
+     * @param maxLines the number of lines to write at most.
+     */
+    public FeedbackWriter(Appendable out, int maxLines) {
+        this.out = out;
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Renders feedback to a string, for the messages of the feedback classes.
+     *
+     * @param feedback   the feedback to render.
+     * @param linePrefix the prefix of the first level of the feedback.
+     *
+     * @return the rendered feedback.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // Justification: Only the feedback classes render their messages this way.
+    /* default */ static String render(Feedback feedback, String linePrefix) {
+        StringBuilder message = new StringBuilder();
+        try {
+            new FeedbackWriter(message).write(feedback, linePrefix);
+        } catch (IOException e) {
+            // A StringBuilder does not throw.
+            throw new UncheckedIOException(e);
+        }
+        return message.toString();
+    }
+
+    /**
+     * Renders the feedback of a pattern group to a string.
+     *
+     * @param feedback the feedback to render.
+     *
+     * @return the rendered feedback.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    // Justification: Only the feedback classes render their messages this way.
+    /* default */ static String render(PatternGroupFeedback feedback) {
+        StringBuilder message = new StringBuilder();
+        try {
+            new FeedbackWriter(message).write(feedback);
+        } catch (IOException e) {
+            // A StringBuilder does not throw.
+            throw new UncheckedIOException(e);
+        }
+        return message.toString();
+    }
+
+    /**
+     * Writes the feedback of the given pattern groups, each followed by a separator.
+     *
+     * @param feedbacks the feedback of the pattern groups.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    public void writeAll(List<PatternGroupFeedback> feedbacks) throws IOException {
+        for (PatternGroupFeedback feedback : feedbacks) {
+            write(feedback);
+            writeLine(SEPARATOR);
+        }
+    }
+
+    /**
+     * Writes the feedback of a pattern group, and the errors in it.
+     *
+     * @param feedback the feedback of the pattern group.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    public void write(PatternGroupFeedback feedback) throws IOException {
+        boolean hasError = feedback.hasError();
+        writeLine("Verification of the design pattern " + feedback.getPatternGroup() +
+                  (hasError ? " failed due to:\n" : " was successful\n"));
+        if (hasError) {
+            for (Feedback childFeedback : feedback.getFeedbacks()) {
+                if (childFeedback.getIsError()) {
+                    write(childFeedback, LINE_PREFIX);
+                    writeLine("\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the errors in the feedback, every level of the tree is indented a bit more.
+     *
+     * @param feedback   the feedback to write.
+     * @param linePrefix the prefix of the lines of this level.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    public void write(Feedback feedback, String linePrefix) throws IOException {
+        // We only want a message if it was an error.
+        if (!feedback.getIsError()) {
+            return;
+        }
+        if (isFull()) {
+            truncated = true;
+            return;
+        }
+
+        FeedbackTrace stackTrace = feedback.getStackTrace();
+        List<Feedback> children = feedback.getChildren();
+        if (children.isEmpty()) {
+            // We don't have any children, i.e. we're the 'leaf' node and therefore we print our
+            // message.
+            String trace = stackTrace == null ? "" : stackTrace + " : ";
+            writeLine(linePrefix + trace + feedback.getMessage() + '\n');
+            return;
+        }
+
+        String childPrefix = linePrefix;
+        if (stackTrace != null) {
+            writeLine(linePrefix + stackTrace + " : \n");
+            childPrefix = linePrefix + LINE_PREFIX;
+        }
+        for (Feedback child : children) {
+            write(child, childPrefix);
+        }
+    }
+
+    /**
+     * Returns if the writer has written as many lines as it may, any more feedback is skipped.
+     *
+     * @return true if the writer is full.
+     */
+    public boolean isFull() {
+        return lines >= maxLines;
+    }
+
+    /**
+     * Returns if any feedback was skipped because the writer was full.
+     *
+     * @return true if feedback was skipped.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private void writeLine(CharSequence line) throws IOException {
+        if (isFull()) {
+            truncated = true;
+            return;
+        }
+        out.append(line);
+        lines++;
+    }
+}
@@ -1,5 +1,6 @@
 package tool.feedback;
 
+import java.util.Collections;
 import java.util.List;
 
 import tool.designpatterns.DesignPattern;
@@ -28,30 +29,26 @@ public final class PatternGroupFeedback {
         this.feedbacks = feedbacks;
     }
 
+    public PatternGroup getPatternGroup() {
+        return patternGroup;
+    }
+
+    /**
+     * Returns the feedbacks that are the children of this group.
+     *
+     * @return an unmodifiable list of the feedbacks.
+     */
+    public List<Feedback> getFeedbacks() {
+        return Collections.unmodifiableList(feedbacks);
+    }
+
     /**
      * Get a full feedback message for this PatternGroup and it's children.
      *
      * @return the message.
      */
     public String getFullMessage() {
-
-        StringBuilder message = new StringBuilder(60);
-        message.append("Verification of the design pattern ").append(patternGroup.toString());
-
-        if (hasError()) {
-            message.append(" failed due to:\n");
-        } else {
-            message.append(" was successful\n");
-        }
-
-        for (Feedback childFeedback : feedbacks) {
-            if (childFeedback.getIsError()) {
-                message.append(childFeedback.getFullMessage());
-                message.append('\n');
-            }
-        }
-
-        return message.toString();
+        return FeedbackWriter.render(this);
     }
 
     /**
@@ -60,13 +57,11 @@ public final class PatternGroupFeedback {
      * @return if this is an error.
      */
     public boolean hasError() {
-        boolean hasError = false;
         for (Feedback feedback : feedbacks) {
             if (feedback.getIsError()) {
-                hasError = true;
+                return true;
             }
         }
-
-        return hasError;
+        return false;
     }
 }
@@ -0,0 +1,216 @@
+package tool.feedback;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Optional;
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+
+import com.github.javaparser.Range;
+
+import tool.designpatterns.PatternGroup;
+
+/**
+ * Writes the errors in the feedback as results that tools can read, either as SARIF or as a
+ * compact JSON list. Every error without children is a result with its pattern group, message and
+ * the file and lines of the closest element that has them. The results are streamed, each group
+ * is written (and flushed) when it is given, so a group does not have to wait for the others.
+ */
+public final class ResultWriter implements Closeable {
+
+    /**
+     * The formats the results can be written in.
+     */
+    public enum Format {
+        /**
+         * A JSON object with a flat list of the results.
+         */
+        JSON,
+        /**
+         * The Static Analysis Results Interchange Format, version 2.1.0.
+         */
+        SARIF
+    }
+
+    private static final int JSON_VERSION = 1;
+    private static final String SARIF_VERSION = "2.1.0";
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    private static final String RESULTS = "results";
+    private static final String MESSAGE = "message";
+    private static final String TEXT = "text";
+    private static final String SEPARATOR = " : ";
+
+    private final JsonGenerator generator;
+    private final Format format;
+
+    /**
+     * Creates a writer and writes the start of the results.
+     *
+     * @param out    where to write the results, it is closed with the writer.
+     * @param format the format to write the results in.
+     */
+    public ResultWriter(Writer out, Format format) {
+        this.generator = Json.createGenerator(out);
+        this.format = format;
+        if (format == Format.SARIF) {
+            writeSarifStart();
+        } else {
+            generator.writeStartObject().write("version", JSON_VERSION).writeStartArray(RESULTS);
+        }
+    }
+
+    /**
+     * Creates a writer that writes to the given file, creating its directory if needed.
+     *
+     * @param file   the file to write the results to.
+     * @param format the format to write the results in.
+     *
+     * @return the writer.
+     *
+     * @throws IOException if the file could not be created.
+     */
+    public static ResultWriter open(Path file, Format format) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        return new ResultWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), format);
+    }
+
+    /**
+     * Writes the errors of a pattern group. The groups can be written from several threads.
+     *
+     * @param feedback the feedback of the pattern group.
+     */
+    public void write(PatternGroupFeedback feedback) {
+        Deque<FeedbackTrace> traces = new ArrayDeque<>();
+        synchronized (generator) {
+            for (Feedback child : feedback.getFeedbacks()) {
+                writeErrors(feedback.getPatternGroup(), child, traces);
+            }
+            generator.flush();
+        }
+    }
+
+    /**
+     * Writes the end of the results and closes the output.
+     */
+    @Override
+    public void close() {
+        synchronized (generator) {
+            // The results array, and in SARIF the run and the runs array.
+            generator.writeEnd();
+            if (format == Format.SARIF) {
+                generator.writeEnd().writeEnd();
+            }
+            generator.writeEnd();
+            generator.close();
+        }
+    }
+
+    /**
+     * Writes a result for every error without children, the traces are those of its parents.
+     */
+    private void writeErrors(PatternGroup group, Feedback feedback, Deque<FeedbackTrace> traces) {
+        if (!feedback.getIsError()) {
+            return;
+        }
+
+        FeedbackTrace trace = feedback.getStackTrace();
+        if (trace != null) {
+            traces.addLast(trace);
+        }
+        if (feedback.getChildren().isEmpty()) {
+            if (format == Format.SARIF) {
+                writeSarifResult(group, feedback.getMessage(), traces);
+            } else {
+                writeJsonResult(group, feedback.getMessage(), traces);
+            }
+        } else {
+            for (Feedback child : feedback.getChildren()) {
+                writeErrors(group, child, traces);
+            }
+        }
+        if (trace != null) {
+            traces.removeLast();
+        }
+    }
+
+    private void writeJsonResult(PatternGroup group, String message, Deque<FeedbackTrace> traces) {
+        generator.writeStartObject().write("group", group.name());
+        Optional<FeedbackTrace> located = findLocated(traces);
+        if (located.isPresent()) {
+            generator.write("file", located.get().getFile().get().toString());
+            located.get().getRange().ifPresent(range -> generator.write(
+                "startLine", range.begin.line).write("endLine", range.end.line));
+        }
+        generator.write(MESSAGE, message).writeStartArray("trace");
+        for (FeedbackTrace trace : traces) {
+            generator.write(trace.toString());
+        }
+        generator.writeEnd().writeEnd();
+    }
+
+    private void writeSarifStart() {
+        generator.writeStartObject().write("$schema", SARIF_SCHEMA).write(
+            "version", SARIF_VERSION).writeStartArray("runs").writeStartObject().writeStartObject(
+            "tool").writeStartObject("driver").write("name", "StaticAnalyser").writeStartArray(
+            "rules");
+        for (PatternGroup group : PatternGroup.values()) {
+            generator.writeStartObject().write("id", group.name()).writeStartObject(
+                "shortDescription").write(TEXT, "Verification of the design pattern " + group)
+                     .writeEnd().writeEnd();
+        }
+        // The rules, the driver and the tool.
+        generator.writeEnd().writeEnd().writeEnd().writeStartArray(RESULTS);
+    }
+
+    private void writeSarifResult(PatternGroup group, String message, Deque<FeedbackTrace> traces) {
+        StringBuilder text = new StringBuilder();
+        for (FeedbackTrace trace : traces) {
+            text.append(trace).append(SEPARATOR);
+        }
+        text.append(message);
+
+        generator.writeStartObject().write("ruleId", group.name()).write("level", "error")
+                 .writeStartObject(MESSAGE).write(TEXT, text.toString()).writeEnd();
+        Optional<FeedbackTrace> located = findLocated(traces);
+        if (located.isPresent()) {
+            generator.writeStartArray("locations").writeStartObject().writeStartObject(
+                "physicalLocation").writeStartObject("artifactLocation").write(
+                "uri", located.get().getFile().get().toUri().toString()).writeEnd();
+            located.get().getRange().ifPresent(this::writeSarifRegion);
+            // The physical location, the location and the locations.
+            generator.writeEnd().writeEnd().writeEnd();
+        }
+        generator.writeEnd();
+    }
+
+    private void writeSarifRegion(Range range) {
+        // The end column is exclusive in SARIF, but inclusive in javaparser.
+        generator.writeStartObject("region").write("startLine", range.begin.line).write(
+            "startColumn", range.begin.column).write("endLine", range.end.line).write(
+            "endColumn", range.end.column + 1).writeEnd();
+    }
+
+    /**
+     * Returns the innermost trace that knows its file.
+     */
+    private static Optional<FeedbackTrace> findLocated(Deque<FeedbackTrace> traces) {
+        Iterator<FeedbackTrace> innermostFirst = traces.descendingIterator();
+        while (innermostFirst.hasNext()) {
+            FeedbackTrace trace = innermostFirst.next();
+            if (trace.getFile().isPresent()) {
+                return Optional.of(trace);
+            }
+        }
+        return Optional.empty();
+    }
+}
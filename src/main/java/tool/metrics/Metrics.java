@@ -0,0 +1,213 @@
+package tool.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+
+/**
+ * Measures the stages of one analysis: the wall time, the CPU time and the bytes allocated by the
+ * threads working on each stage, and the number of symbols resolved in it. The measurements are
+ * read from the {@link java.lang.management.ThreadMXBean}, which is cheap enough to always do.
+ */
+public final class Metrics {
+
+    private static final int VERSION = 1;
+
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    // The stages are kept in the order they were first run, every access is synchronized.
+    private final Map<String, StageMetrics> stages = new LinkedHashMap<>();
+    private final long start;
+    private long end;
+
+    public Metrics() {
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Runs an action as a stage of the analysis. Running a stage with the same name again adds to
+     * the measurements of the earlier runs.
+     *
+     * @param stage  the name of the stage.
+     * @param action the action to run.
+     * @param <T>    the type of the result.
+     *
+     * @return the result of the action.
+     */
+    public <T> T measure(String stage, Supplier<T> action) {
+        StageMetrics metrics = getStage(stage);
+        long wallStart = System.nanoTime();
+        ThreadSpan span = ThreadSpan.start(metrics);
+        try {
+            return action.get();
+        } finally {
+            span.end();
+            metrics.addWallTime(System.nanoTime() - wallStart);
+        }
+    }
+
+    /**
+     * Runs an action as a stage of the analysis that this thread is working on, or just runs it if
+     * the thread is not working on an analysis.
+     *
+     * @param stage  the name of the stage.
+     * @param action the action to run.
+     * @param <T>    the type of the result.
+     *
+     * @return the result of the action.
+     */
+    public static <T> T measureInCurrent(String stage, Supplier<T> action) {
+        ThreadSpan current = ThreadSpan.ofCurrentThread();
+        if (current == null) {
+            return action.get();
+        }
+        return current.getStage().getOwner().measure(stage, action);
+    }
+
+    /**
+     * Runs an action as a stage of the analysis that this thread is working on, see {@link
+     * #measureInCurrent(String, Supplier)}.
+     *
+     * @param stage  the name of the stage.
+     * @param action the action to run.
+     */
+    public static void runInCurrent(String stage, Runnable action) {
+        measureInCurrent(stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Makes a task count towards the stage of this thread, no matter which thread runs it.
+     *
+     * @param task the task to run in another thread.
+     * @param <T>  the type of the input.
+     * @param <R>  the type of the result.
+     *
+     * @return the task that counts towards the current stage.
+     */
+    public static <T, R> Function<T, R> inCurrentStage(Function<T, R> task) {
+        ThreadSpan current = ThreadSpan.ofCurrentThread();
+        if (current == null) {
+            return task;
+        }
+        StageMetrics stage = current.getStage();
+        return input -> {
+            ThreadSpan span = ThreadSpan.start(stage);
+            try {
+                return task.apply(input);
+            } finally {
+                span.end();
+            }
+        };
+    }
+
+    /**
+     * Counts a symbol resolution towards the stage of this thread, if there is one.
+     */
+    public static void countResolve() {
+        ThreadSpan current = ThreadSpan.ofCurrentThread();
+        if (current != null) {
+            current.getStage().addResolveCall();
+        }
+    }
+
+    /**
+     * Counts a symbol resolution that was answered from the resolution cache towards the stage of
+     * this thread, if there is one. The resolution is also counted by {@link #countResolve()}.
+     */
+    public static void countResolveCacheHit() {
+        ThreadSpan current = ThreadSpan.ofCurrentThread();
+        if (current != null) {
+            current.getStage().addResolveCacheHit();
+        }
+    }
+
+    /**
+     * Stops the clock of the whole analysis, the stages are still measured if they are run again.
+     */
+    public void finish() {
+        end = System.nanoTime();
+    }
+
+    /**
+     * The stages in the order they were first run.
+     *
+     * @return the stages.
+     */
+    public List<StageMetrics> getStages() {
+        synchronized (stages) {
+            return new ArrayList<>(stages.values());
+        }
+    }
+
+    /**
+     * The wall time from the start of the analysis until it was finished (or until now).
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getWallTimeNanos() {
+        return (end == 0 ? System.nanoTime() : end) - start;
+    }
+
+    /**
+     * Converts the measurements to JSON. The totals of the CPU time, allocated bytes, resolve
+     * calls and resolve cache hits are the sums of all stages.
+     *
+     * @return the JSON object.
+     */
+    public JsonObject toJson() {
+        long cpuTime = 0;
+        long allocatedBytes = 0;
+        long resolveCalls = 0;
+        long resolveCacheHits = 0;
+        JsonArrayBuilder stagesJson = Json.createArrayBuilder();
+        for (StageMetrics stage : getStages()) {
+            cpuTime += stage.getCpuTimeNanos();
+            allocatedBytes += stage.getAllocatedBytes();
+            resolveCalls += stage.getResolveCalls();
+            resolveCacheHits += stage.getResolveCacheHits();
+            stagesJson.add(stage.toJson());
+        }
+
+        return Json.createObjectBuilder().add("version", VERSION).add(
+            "wallTimeNanos", getWallTimeNanos()).add("cpuTimeNanos", cpuTime).add(
+            "allocatedBytes", allocatedBytes).add("resolveCalls", resolveCalls).add(
+            "resolveCacheHits", resolveCacheHits).add("stages", stagesJson).build();
+    }
+
+    /**
+     * Writes the measurements as JSON to the given file.
+     *
+     * @param file the file to write to, its directory is created if it does not exist.
+     *
+     * @throws IOException if the file could not be written.
+     */
+    public void writeReport(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            Json.createWriter(writer).writeObject(toJson());
+        }
+    }
+
+    private StageMetrics getStage(String name) {
+        synchronized (stages) {
+            return stages.computeIfAbsent(name, key -> new StageMetrics(key, this));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package tool.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * The measurements of one stage of the analysis. The wall time of a stage includes the stages
+ * that were run inside it, the CPU time, allocated bytes and resolved symbols are only counted for
+ * the stage itself. The measurements can be added to from several threads at once.
+ */
+@SuppressWarnings("PMD.DefaultPackage")
+// Only the metrics and spans in this package should add to the measurements.
+public final class StageMetrics {
+
+    private final String name;
+    private final Metrics owner;
+    private final LongAdder wallTime = new LongAdder();
+    private final LongAdder cpuTime = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder resolveCalls = new LongAdder();
+    private final LongAdder resolveCacheHits = new LongAdder();
+
+    /* default */ StageMetrics(String name, Metrics owner) {
+        this.name = name;
+        this.owner = owner;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTime.sum();
+    }
+
+    public long getCpuTimeNanos() {
+        return cpuTime.sum();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    public long getResolveCalls() {
+        return resolveCalls.sum();
+    }
+
+    public long getResolveCacheHits() {
+        return resolveCacheHits.sum();
+    }
+
+    /**
+     * Converts the measurements to JSON, the times are in nanoseconds.
+     *
+     * @return the JSON object.
+     */
+    public JsonObject toJson() {
+        return Json.createObjectBuilder().add("name", name).add("wallTimeNanos", getWallTimeNanos())
+                   .add("cpuTimeNanos", getCpuTimeNanos()).add(
+                "allocatedBytes", getAllocatedBytes()).add("resolveCalls", getResolveCalls())
+                   .add("resolveCacheHits", getResolveCacheHits()).build();
+    }
+
+    @Override
+    public String toString() {
+        final long nanosPerMilli = 1_000_000;
+        final long bytesPerKilobyte = 1024;
+        return name + ": " + getWallTimeNanos() / nanosPerMilli + " ms wall, " +
+               getCpuTimeNanos() / nanosPerMilli + " ms cpu, " +
+               getAllocatedBytes() / bytesPerKilobyte + " kB allocated, " + getResolveCalls() +
+               " resolve calls (" + getResolveCacheHits() + " cached)";
+    }
+
+    /* default */ Metrics getOwner() {
+        return owner;
+    }
+
+    /* default */ void addWallTime(long nanos) {
+        wallTime.add(nanos);
+    }
+
+    /* default */ void addThreadTime(long cpuNanos, long bytes) {
+        cpuTime.add(cpuNanos);
+        allocatedBytes.add(bytes);
+    }
+
+    /* default */ void addResolveCall() {
+        resolveCalls.increment();
+    }
+
+    /* default */ void addResolveCacheHit() {
+        resolveCacheHits.increment();
+    }
+}
@@ -0,0 +1,105 @@
+package tool.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The time a thread spends working on a stage. A thread works on one stage at a time, when it
+ * starts a new stage (e.g. a stage run inside another, or a task of another stage while waiting
+ * for its own) the span of the old stage is paused until the new one is done.
+ */
+@SuppressWarnings("PMD.DefaultPackage")
+// Spans are only started and ended by the metrics in this package.
+final class ThreadSpan {
+
+    private static final ThreadLocal<ThreadSpan> CURRENT = new ThreadLocal<>();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final StageMetrics stage;
+    private final ThreadSpan paused;
+    private long cpuStart;
+    private long allocatedStart;
+
+    private ThreadSpan(StageMetrics stage, ThreadSpan paused) {
+        this.stage = stage;
+        this.paused = paused;
+        this.cpuStart = cpuTime();
+        this.allocatedStart = allocatedBytes();
+    }
+
+    /**
+     * Starts working on the given stage on this thread.
+     *
+     * @param stage the stage to work on.
+     *
+     * @return the span, which must be ended on this thread.
+     */
+    /* default */ static ThreadSpan start(StageMetrics stage) {
+        ThreadSpan current = CURRENT.get();
+        if (current != null) {
+            current.record();
+        }
+        ThreadSpan span = new ThreadSpan(stage, current);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * The span this thread is working on.
+     *
+     * @return the span, or null if the thread is not working on a stage.
+     */
+    /* default */ static ThreadSpan ofCurrentThread() {
+        return CURRENT.get();
+    }
+
+    /* default */ StageMetrics getStage() {
+        return stage;
+    }
+
+    /**
+     * Stops working on the stage and continues with the stage that was paused by it.
+     */
+    /* default */ void end() {
+        record();
+        if (paused == null) {
+            CURRENT.remove();
+        } else {
+            paused.restart();
+            CURRENT.set(paused);
+        }
+    }
+
+    private void record() {
+        long cpu = cpuTime();
+        long allocated = allocatedBytes();
+        stage.addThreadTime(cpu - cpuStart, allocated - allocatedStart);
+        cpuStart = cpu;
+        allocatedStart = allocated;
+    }
+
+    private void restart() {
+        cpuStart = cpuTime();
+        allocatedStart = allocatedBytes();
+    }
+
+    /**
+     * The CPU time of this thread, or 0 if it can not be measured.
+     */
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ?
+            Math.max(0, THREADS.getCurrentThreadCpuTime()) : 0;
+    }
+
+    /**
+     * The bytes allocated by this thread, or 0 if it can not be measured (it is only supported by
+     * the HotSpot based virtual machines).
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return Math.max(0, ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(
+                Thread.currentThread().getId()));
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,58 @@
+package tool.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+
+/**
+ * Gives every declaration a number that stays the same for as long as the declaration exists.
+ * Grouping and comparing declarations by their number is cheap, while the equals and hashCode of a
+ * javaparser node compare and hash its entire subtree, and find two identical classes in
+ * different packages to be equal. The parsed classes and their methods are numbered when they are
+ * parsed, any other declaration when its number is first asked for.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class DeclarationIds {
+
+    private static final DataKey<Integer> DECLARATION_ID = new DataKey<>() {
+    };
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private DeclarationIds() {
+
+    }
+
+    /**
+     * Returns the number of the declaration, numbering it if it does not have one yet.
+     *
+     * @param declaration the declaration.
+     *
+     * @return the number, different for every declaration.
+     */
+    public static int idOf(Node declaration) {
+        // Other data, e.g. the facts of a class, is stored on the node under the same lock.
+        synchronized (declaration) {
+            if (declaration.containsData(DECLARATION_ID)) {
+                return declaration.getData(DECLARATION_ID);
+            }
+            int declarationId = NEXT_ID.getAndIncrement();
+            declaration.setData(DECLARATION_ID, declarationId);
+            return declarationId;
+        }
+    }
+
+    /**
+     * Numbers a parsed class and the methods that it declares.
+     *
+     * @param classOrI the class.
+     */
+    public static void number(ClassOrInterfaceDeclaration classOrI) {
+        idOf(classOrI);
+        classOrI.getMethods().forEach(DeclarationIds::idOf);
+    }
+}
@@ -0,0 +1,106 @@
+package tool.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import com.github.javaparser.ast.Node;
+
+/**
+ * A set of declarations, kept as a bit for the number of each declaration (see {@link
+ * DeclarationIds}). A declaration is only in the set if it is the same node as one that was added,
+ * a structurally equal node somewhere else is not. The numbers of one analysis are close to each
+ * other, so the bits start at the lowest number in the set rather than at zero.
+ */
+public final class DeclarationSet {
+
+    private BitSet bits = new BitSet();
+    private int lowest;
+
+    /**
+     * Creates an empty set.
+     */
+    public DeclarationSet() {
+
+    }
+
+    /**
+     * Creates a set of the given declarations.
+     *
+     * @param declarations the declarations.
+     */
+    public DeclarationSet(Collection<? extends Node> declarations) {
+        addAll(declarations);
+    }
+
+    /**
+     * Adds a declaration to the set.
+     *
+     * @param declaration the declaration.
+     *
+     * @return true if it was not in the set already.
+     */
+    public boolean add(Node declaration) {
+        int declarationId = DeclarationIds.idOf(declaration);
+        if (bits.isEmpty()) {
+            lowest = declarationId;
+        } else if (declarationId < lowest) {
+            BitSet shifted = new BitSet();
+            bits.stream().forEach(bit -> shifted.set(bit + lowest - declarationId));
+            bits = shifted;
+            lowest = declarationId;
+        }
+        boolean added = !bits.get(declarationId - lowest);
+        bits.set(declarationId - lowest);
+        return added;
+    }
+
+    /**
+     * Adds the declarations to the set.
+     *
+     * @param declarations the declarations.
+     */
+    public void addAll(Collection<? extends Node> declarations) {
+        declarations.forEach(this::add);
+    }
+
+    /**
+     * Returns whether the declaration is in the set.
+     *
+     * @param declaration the declaration.
+     *
+     * @return true if it was added to the set.
+     */
+    public boolean contains(Node declaration) {
+        int declarationId = DeclarationIds.idOf(declaration);
+        return declarationId >= lowest && bits.get(declarationId - lowest);
+    }
+
+    /**
+     * Returns the number of declarations in the set.
+     *
+     * @return the size of the set.
+     */
+    public int size() {
+        return bits.cardinality();
+    }
+
+    /**
+     * Returns the declarations that are not in this set, without changing the given list.
+     *
+     * @param declarations the declarations.
+     * @param <T>          the type of the declarations.
+     *
+     * @return a new list of the declarations not in the set, in the same order.
+     */
+    public <T extends Node> List<T> without(List<T> declarations) {
+        List<T> left = new ArrayList<>();
+        for (T declaration : declarations) {
+            if (!contains(declaration)) {
+                left.add(declaration);
+            }
+        }
+        return left;
+    }
+}
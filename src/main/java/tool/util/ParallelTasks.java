@@ -0,0 +1,91 @@
+package tool.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import tool.designpatterns.DesignPattern;
+import tool.designpatterns.Pattern;
+import tool.metrics.Metrics;
+
+/**
+ * Runs independent tasks on a bounded fork-join pool. The results are always returned in the same
+ * order as the inputs, regardless of the order in which the tasks finish.
+ */
+@DesignPattern(pattern = {Pattern.IMMUTABLE})
+public final class ParallelTasks {
+
+    private ParallelTasks() {
+
+    }
+
+    /**
+     * The number of threads to use when nothing else has been configured.
+     *
+     * @return the number of available processors.
+     */
+    public static int defaultThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Applies the task (which must be safe to run concurrently) to every input on at most the
+     * given number of threads, 1 or less runs everything on this thread.
+     *
+     * @return the results, in the same order as the inputs.
+     */
+    public static <T, R> List<R> map(List<T> inputs, Function<T, R> task, int threads) {
+        if (threads <= 1 || inputs.size() <= 1) {
+            List<R> results = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                results.add(task.apply(input));
+            }
+            return results;
+        }
+
+        return mapInPool(inputs, task, threads);
+    }
+
+    /**
+     * Applies the task to every input, in parallel if called from a task started by {@link
+     * #map(List, Function, int)} (sharing its threads) and on this thread otherwise.
+     *
+     * @return the results, in the same order as the inputs.
+     */
+    public static <T, R> List<R> mapInCurrentPool(List<T> inputs, Function<T, R> task) {
+        if (ForkJoinTask.inForkJoinPool()) {
+            return inputs.parallelStream().map(Metrics.inCurrentStage(task)).collect(
+                Collectors.toList());
+        }
+        return map(inputs, task, 1);
+    }
+
+    @SuppressWarnings({"PMD.DoNotUseThreads", "PMD.PreserveStackTrace"})
+    // The analyser is never run inside a web container. The cause is what the task threw, the
+    // ExecutionException around it only tells us that it was thrown in another thread.
+    private static <T, R> List<R> mapInPool(List<T> inputs, Function<T, R> task, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        // The threads of the pool work on the stage of the analysis that started the tasks.
+        Function<T, R> measuredTask = Metrics.inCurrentStage(task);
+        try {
+            // The parallel stream is run in the pool it is submitted to, bounding the threads.
+            return pool.submit(
+                () -> inputs.parallelStream().map(measuredTask).collect(Collectors.toList()))
+                       .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for tasks to finish", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
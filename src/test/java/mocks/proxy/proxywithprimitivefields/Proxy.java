@@ -0,0 +1,28 @@
+package mocks.proxy.proxywithprimitivefields;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@SuppressFBWarnings(justification = "Mock")
+public class Proxy implements ProxyInterface {
+
+    private int hits, misses;
+    private String[] lastTexts = new String[1];
+    private Subject theSubject;
+
+    public Proxy(Subject theSubject) {
+        this.theSubject = theSubject;
+    }
+
+    @Override
+    public int[] getTextIDs() {
+        hits++;
+        return this.theSubject.getTextIDs();
+    }
+
+    @Override
+    public String getText(int id) {
+        misses++;
+        lastTexts[0] = theSubject.getText(id);
+        return lastTexts[0];
+    }
+}
@@ -0,0 +1,8 @@
+package mocks.proxy.proxywithprimitivefields;
+
+public interface ProxyInterface {
+
+    int[] getTextIDs();
+
+    String getText(int id);
+}
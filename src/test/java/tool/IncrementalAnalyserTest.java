@@ -0,0 +1,100 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tool.feedback.PatternGroupFeedback;
+
+public class IncrementalAnalyserTest {
+
+    private static final String SINGLETON =
+        "package incremental;\n\n" + "import tool.designpatterns.DesignPattern;\n" +
+        "import tool.designpatterns.Pattern;\n\n" +
+        "@DesignPattern(pattern = {Pattern.SINGLETON})\n" + "public final class Single {\n" +
+        "    private static Single instance = new Single();\n\n" + "    %s Single() {\n" +
+        "    }\n\n" + "    public static Single getInstance() {\n" +
+        "        return instance;\n" + "    }\n" + "}\n";
+
+    private static final String PROXY_INTERFACE =
+        "package incremental;\n\n" + "import tool.designpatterns.DesignPattern;\n" +
+        "import tool.designpatterns.Pattern;\n\n" +
+        "@DesignPattern(pattern = {Pattern.PROXY_INTERFACE})\n" +
+        "public interface Text {\n" + "    String getText(int id);\n" + "}\n";
+
+    private static final String PROXY_SUBJECT =
+        "package incremental;\n\n" + "import tool.designpatterns.DesignPattern;\n" +
+        "import tool.designpatterns.Pattern;\n\n" +
+        "@DesignPattern(pattern = {Pattern.PROXY_SUBJECT})\n" +
+        "public class RealText implements Text {\n" + "    @Override\n" +
+        "    public String getText(int id) {\n" + "        return \"Text \" + id;\n" +
+        "    }\n" + "}\n";
+
+    private static final String PROXY =
+        "package incremental;\n\n" + "import tool.designpatterns.DesignPattern;\n" +
+        "import tool.designpatterns.Pattern;\n\n" +
+        "@DesignPattern(pattern = {Pattern.PROXY_PROXY})\n" +
+        "public class TextProxy implements Text {\n" + "    private RealText subject;\n\n" +
+        "    @Override\n" + "    public String getText(int id) {\n" +
+        "        return Texts.unwrap(subject).getText(id);\n" + "    }\n" + "}\n";
+
+    /**
+     * Not a member of the group, the proxy only calls it.
+     */
+    private static final String CALLED =
+        "package incremental;\n\n" + "public final class Texts {\n" +
+        "    public static %s unwrap(RealText text) {\n" + "        return text;\n" +
+        "    }\n" + "}\n";
+
+    @Test
+    public void testCachedResultIsReusedUntilFileChanges(@TempDir Path dir) throws IOException {
+        Path source = dir.resolve("src");
+        Path file = source.resolve("incremental").resolve("Single.java");
+        Files.createDirectories(file.getParent());
+        AnalyserSettings settings = AnalyserSettings.defaults().withThreads(2)
+                                                    .withCacheDirectory(dir.resolve("cache"));
+        String[] paths = {source.toString()};
+
+        Files.writeString(file, String.format(SINGLETON, "private"));
+        List<PatternGroupFeedback> first = new IncrementalAnalyser(paths, settings).analyse();
+        assertEquals(1, first.size());
+        assertFalse(first.get(0).hasError());
+        assertTrue(Files.exists(dir.resolve("cache").resolve("cache.json")));
+
+        Files.writeString(file, String.format(SINGLETON, "public"));
+        List<PatternGroupFeedback> changed = new IncrementalAnalyser(paths, settings).analyse();
+        assertTrue(changed.get(0).hasError());
+
+        List<PatternGroupFeedback> cached = new IncrementalAnalyser(paths, settings).analyse();
+        assertTrue(cached.get(0).hasError());
+        assertEquals(changed.get(0).getFullMessage(), cached.get(0).getFullMessage());
+    }
+
+    @Test
+    public void testChangedCalledMethodIsVerifiedAgain(@TempDir Path dir) throws IOException {
+        Path source = dir.resolve("src").resolve("incremental");
+        Files.createDirectories(source);
+        AnalyserSettings settings = AnalyserSettings.defaults().withThreads(2)
+                                                    .withCacheDirectory(dir.resolve("cache"));
+        String[] paths = {dir.resolve("src").toString()};
+
+        Files.writeString(source.resolve("Text.java"), PROXY_INTERFACE);
+        Files.writeString(source.resolve("RealText.java"), PROXY_SUBJECT);
+        Files.writeString(source.resolve("TextProxy.java"), PROXY);
+        Files.writeString(source.resolve("Texts.java"), String.format(CALLED, "RealText"));
+        List<PatternGroupFeedback> first = new IncrementalAnalyser(paths, settings).analyse();
+        assertFalse(first.get(0).getFullMessage(), first.get(0).hasError());
+
+        // The proxy no longer calls the method on its subject.
+        Files.writeString(source.resolve("Texts.java"), String.format(CALLED, "Text"));
+        List<PatternGroupFeedback> changed = new IncrementalAnalyser(paths, settings).analyse();
+        assertTrue(changed.get(0).hasError());
+    }
+}
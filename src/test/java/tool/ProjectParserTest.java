@@ -0,0 +1,73 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ProjectParserTest {
+
+    private static final String MOCKS = "src/test/java/mocks";
+
+    @Test
+    public void testParallelParseKeepsOrder() {
+        List<String> serial = names(ProjectParser.findAllClassesAndInterfaces(MOCKS, 1));
+        List<String> parallel = names(ProjectParser.findAllClassesAndInterfaces(MOCKS, 4));
+
+        assertFalse(serial.isEmpty());
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    public void testParallelParseFindsSameClasses() {
+        List<String> sourceRoot = names(ProjectParser.findAllClassesAndInterfaces(MOCKS));
+        List<String> parallel = names(ProjectParser.findAllClassesAndInterfaces(MOCKS, 4));
+
+        assertEquals(sourceRoot.stream().sorted().collect(Collectors.toList()),
+                     parallel.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testPreFilterKeepsAnnotatedClasses() {
+        List<String> all = names(ProjectParser.findAllClassesAndInterfaces(MOCKS, 4).stream()
+                                              .filter(classOrI -> classOrI.getAnnotationByName(
+                                                  "DesignPattern").isPresent())
+                                              .collect(Collectors.toList()));
+        List<String> annotated = names(
+            ProjectParser.findAnnotatedClassesAndInterfaces(MOCKS, 4).stream()
+                         .filter(classOrI -> classOrI.getAnnotationByName("DesignPattern")
+                                                     .isPresent())
+                         .collect(Collectors.toList()));
+
+        assertFalse(all.isEmpty());
+        assertEquals(all, annotated);
+    }
+
+    @Test
+    public void testPreFilterMatchesWholeIdentifier(@TempDir Path dir) throws IOException {
+        Path annotated = dir.resolve("Annotated.java");
+        Files.writeString(annotated, "@tool.designpatterns.DesignPattern(pattern = {})\n"
+                                     + "class Annotated {}");
+        Path notAnnotated = dir.resolve("NotAnnotated.java");
+        Files.writeString(notAnnotated, "class NotAnnotated { MyDesignPatterns field; }");
+
+        assertTrue(AnnotationPreFilter.mayContainAnnotation(annotated));
+        assertFalse(AnnotationPreFilter.mayContainAnnotation(notAnnotated));
+    }
+
+    private static List<String> names(List<ClassOrInterfaceDeclaration> classes) {
+        return classes.stream().map(classOrI -> classOrI.getFullyQualifiedName().orElse(""))
+                      .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertSame;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import org.junit.jupiter.api.Test;
+
+public class ProjectSymbolResolverTest {
+
+    private static final String SOURCE =
+        "class A {\n" + "    int get() { return 1; }\n" + "    int twice() { return get() + get(); }\n" +
+        "}\n";
+
+    @Test
+    public void testResolvedNodesAreRemembered() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = parse(resolver);
+        MethodDeclaration get = unit.findFirst(MethodDeclaration.class).get();
+
+        ResolvedMethodDeclaration first = get.resolve();
+        ResolvedMethodDeclaration second = get.resolve();
+
+        assertSame(first, second);
+        assertEquals(1, resolver.getCacheMisses());
+        assertEquals(1, resolver.getCacheHits());
+    }
+
+    @Test
+    public void testEqualNodesAreResolvedSeparately() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = parse(resolver);
+
+        // The two calls of get() are equal nodes, but they are different nodes.
+        for (MethodCallExpr call : unit.findAll(MethodCallExpr.class)) {
+            assertEquals("A.get", call.resolve().getQualifiedName());
+        }
+        assertEquals(2, resolver.getCacheMisses());
+        assertEquals(0, resolver.getCacheHits());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedNodeIsForgotten() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()), 1);
+        CompilationUnit unit = parse(resolver);
+        MethodDeclaration get = unit.findAll(MethodDeclaration.class).get(0);
+        MethodDeclaration twice = unit.findAll(MethodDeclaration.class).get(1);
+
+        get.resolve();
+        get.resolve();
+        twice.resolve();
+        get.resolve();
+
+        assertEquals(3, resolver.getCacheMisses());
+        assertEquals(1, resolver.getCacheHits());
+    }
+
+    @Test
+    public void testClearedNodesAreResolvedAgain() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = parse(resolver);
+        MethodDeclaration get = unit.findFirst(MethodDeclaration.class).get();
+
+        get.resolve();
+        ProjectSymbolResolver.clearCache(new ParserConfiguration().setSymbolResolver(resolver));
+        get.resolve();
+
+        assertEquals(2, resolver.getCacheMisses());
+        assertEquals(0, resolver.getCacheHits());
+    }
+
+    private static CompilationUnit parse(ProjectSymbolResolver resolver) {
+        JavaParser parser = new JavaParser(new ParserConfiguration().setSymbolResolver(resolver));
+        return parser.parse(SOURCE).getResult().get();
+    }
+}
@@ -0,0 +1,80 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertSame;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import org.junit.jupiter.api.Test;
+
+public class ProjectTypeSolverTest {
+
+    @Test
+    public void testSolvedTypesAreRemembered() {
+        CountingTypeSolver delegate = new CountingTypeSolver();
+        ProjectTypeSolver solver = new ProjectTypeSolver(delegate);
+
+        SymbolReference<ResolvedReferenceTypeDeclaration> first = solver.tryToSolveType(
+            "java.lang.String");
+        SymbolReference<ResolvedReferenceTypeDeclaration> second = solver.tryToSolveType(
+            "java.lang.String");
+
+        assertTrue(first.isSolved());
+        assertSame(first, second);
+        assertFalse(solver.tryToSolveType("does.not.Exist").isSolved());
+        assertFalse(solver.tryToSolveType("does.not.Exist").isSolved());
+        assertEquals(List.of("java.lang.String", "does.not.Exist"), delegate.requests);
+        assertSame(solver, delegate.getParent());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTypeIsForgotten() {
+        CountingTypeSolver delegate = new CountingTypeSolver();
+        ProjectTypeSolver solver = new ProjectTypeSolver(delegate, 2);
+
+        solver.tryToSolveType("java.lang.String");
+        solver.tryToSolveType("java.lang.Integer");
+        solver.tryToSolveType("java.lang.String");
+        solver.tryToSolveType("java.lang.Long");
+        solver.tryToSolveType("java.lang.String");
+        solver.tryToSolveType("java.lang.Integer");
+
+        assertEquals(
+            List.of("java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Integer"),
+            delegate.requests);
+    }
+
+    /**
+     * Solves types using reflection and remembers which types it has been asked for.
+     */
+    private static class CountingTypeSolver implements TypeSolver {
+
+        private final TypeSolver reflection = new ReflectionTypeSolver();
+        private final List<String> requests = new ArrayList<>();
+        private TypeSolver parent;
+
+        @Override
+        public TypeSolver getParent() {
+            return parent;
+        }
+
+        @Override
+        public void setParent(TypeSolver parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+            requests.add(name);
+            return reflection.tryToSolveType(name);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import org.junit.jupiter.api.Test;
+
+public class ResolutionTest {
+
+    private static final String SOURCE =
+        "class A {\n" + "    void run() { help(); System.out.println(); missing.run(); }\n" +
+        "    void help() { }\n" + "}\n";
+
+    @Test
+    public void testCallsAreClassified() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        JavaParser parser = new JavaParser(new ParserConfiguration().setSymbolResolver(resolver));
+        CompilationUnit unit = parser.parse(SOURCE).getResult().get();
+        List<MethodCallExpr> calls = unit.findAll(MethodCallExpr.class);
+
+        assertEquals(Resolution.Kind.IN_PROJECT, Resolution.ofCall(calls.get(0)).getKind());
+        assertTrue(Resolution.ofCall(calls.get(0)).get().get().toAst().isPresent());
+        assertEquals(Resolution.Kind.EXTERNAL, Resolution.ofCall(calls.get(1)).getKind());
+        Resolution<?> unsolvable = Resolution.ofCall(calls.get(2));
+        assertEquals(Resolution.Kind.UNSOLVABLE, unsolvable.getKind());
+        assertFalse(unsolvable.get().isPresent());
+
+        long misses = resolver.getCacheMisses();
+        assertEquals(Resolution.Kind.UNSOLVABLE, Resolution.ofCall(calls.get(2)).getKind());
+        assertEquals(misses, resolver.getCacheMisses());
+    }
+
+    @Test
+    public void testNodesWithoutProjectResolverAreResolved() {
+        JavaParser parser = new JavaParser(new ParserConfiguration().setSymbolResolver(
+            new JavaSymbolSolver(new ReflectionTypeSolver())));
+        CompilationUnit unit = parser.parse("class A { void run() { missing.run(); } }")
+                                     .getResult().get();
+        MethodCallExpr call = unit.findFirst(MethodCallExpr.class).get();
+
+        assertEquals(Resolution.Kind.UNSOLVABLE, Resolution.ofCall(call).getKind());
+    }
+}
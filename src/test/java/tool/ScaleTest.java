@@ -0,0 +1,104 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tool.designpatterns.PatternGroup;
+import tool.util.ParallelTasks;
+import utilities.SyntheticProject;
+
+/**
+ * Analyses large generated projects. These tests are run by the scaleTest task, with the heap
+ * limited to the memory budget of the analysis.
+ */
+@Tag("scale")
+public class ScaleTest {
+
+    private static final long TIME_BUDGET_SECONDS = 60;
+    private static final long RETAINED_BYTES_PER_ANNOTATED_CLASS = 128 * 1024;
+
+    @Test
+    public void testLargeCorrectProject(@TempDir Path root) throws IOException {
+        SyntheticProject project = SyntheticProject.defaults().withFillerClasses(10_000)
+                                                   .withPatternInstances(20)
+                                                   .withInheritanceDepth(5);
+        project.generate(root);
+        assertTrue(project.getTypeCount() > 10_000);
+
+        long start = System.nanoTime();
+        MainProgram.startAnalyse(new String[] {root.toString()});
+        assertWithinBudget(start);
+    }
+
+    @Test
+    public void testLargeProjectWithBrokenInstances(@TempDir Path root) throws IOException {
+        SyntheticProject.defaults().withFillerClasses(10_000).withPatternInstances(20)
+                        .withBrokenInstances(5).generate(root);
+
+        long start = System.nanoTime();
+        String message = "";
+        try {
+            MainProgram.startAnalyse(new String[] {root.toString()});
+        } catch (GradleException e) {
+            message = e.getMessage();
+        }
+        assertWithinBudget(start);
+
+        for (PatternGroup group : PatternGroup.values()) {
+            assertTrue(group + " should fail", message.contains(
+                "Verification of the design pattern " + group + " failed"));
+        }
+        assertTrue(message.contains("synthetic.singleton.RegistryBroken4"));
+        assertFalse(message.contains("synthetic.singleton.Registry0 "));
+    }
+
+    @Test
+    public void testHeapIsProportionalToAnnotatedCode(@TempDir Path root) throws IOException {
+        SyntheticProject.defaults().withFillerClasses(20_000).withPatternInstances(20)
+                        .generate(root);
+        List<Path> files = ProjectParser.findSourceFiles(root.toString());
+        ParserConfiguration config = SolveThatSymbolSolver.getConfig(root.toString());
+        assertTrue(files.size() > 20_000);
+
+        long before = usedHeapAfterGc();
+        List<ClassOrInterfaceDeclaration> annotated =
+            ProjectParser.findAnnotatedClassesAndInterfaces(
+                files, config, ParallelTasks.defaultThreads());
+        long retained = usedHeapAfterGc() - before;
+
+        // Every class that is kept is annotated, and nothing else keeps the other files alive.
+        assertTrue(annotated.size() < files.size() / 10);
+        annotated.forEach(classOrI -> assertTrue(
+            classOrI.getAnnotationByName("DesignPattern").isPresent()));
+        assertTrue("Parsing retained " + retained + " bytes",
+                   retained < annotated.size() * RETAINED_BYTES_PER_ANNOTATED_CLASS);
+
+        // The whole analysis fits in the heap of the scaleTest task.
+        long start = System.nanoTime();
+        MainProgram.startAnalyse(new String[] {root.toString()});
+        assertWithinBudget(start);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void assertWithinBudget(long start) {
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+        assertTrue("The analysis took " + seconds + " seconds", seconds < TIME_BUDGET_SECONDS);
+    }
+}
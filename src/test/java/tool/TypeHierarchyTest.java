@@ -0,0 +1,103 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertSame;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import org.junit.jupiter.api.Test;
+
+public class TypeHierarchyTest {
+
+    private static final String SOURCE =
+        "interface I { }\n" + "abstract class B implements I { }\n" + "class C extends B { }\n" +
+        "class F implements I, java.io.Serializable { }\n" + "class E extends Missing { }\n";
+
+    @Test
+    public void testSupertypesAreFound() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = parse(resolver);
+        TypeHierarchy hierarchy = TypeHierarchy.forNode(get(unit, "C"));
+
+        assertSame(hierarchy, TypeHierarchy.forNode(get(unit, "I")));
+        assertTrue(hierarchy.isDirectSubtypeOf(get(unit, "B"), get(unit, "I")));
+        assertFalse(hierarchy.isDirectSubtypeOf(get(unit, "C"), get(unit, "I")));
+        assertTrue(hierarchy.isSubtypeOf(get(unit, "C"), get(unit, "I")));
+        assertFalse(hierarchy.isSubtypeOf(get(unit, "I"), get(unit, "C")));
+        assertTrue(hierarchy.haveDirectInterfaceInCommon(get(unit, "B"), get(unit, "F")));
+        assertFalse(hierarchy.haveDirectInterfaceInCommon(get(unit, "C"), get(unit, "F")));
+        assertFalse(hierarchy.isSubtypeOf(get(unit, "E"), get(unit, "B")));
+    }
+
+    @Test
+    public void testSupertypesAreResolvedOnce() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = parse(resolver);
+        TypeHierarchy hierarchy = TypeHierarchy.forNode(unit);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(hierarchy.isSubtypeOf(get(unit, "C"), get(unit, "I")));
+            assertTrue(hierarchy.isDirectSubtypeOf(get(unit, "C"), get(unit, "B")));
+        }
+        long misses = resolver.getCacheMisses();
+        long hits = resolver.getCacheHits();
+        assertTrue(hierarchy.isSubtypeOf(get(unit, "C"), get(unit, "I")));
+        assertTrue(hierarchy.isDirectSubtypeOf(get(unit, "C"), get(unit, "B")));
+        assertEquals(misses, resolver.getCacheMisses());
+        assertEquals(hits, resolver.getCacheHits());
+    }
+
+    @Test
+    public void testChangedSupertypesAreFound() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = parse(resolver);
+        TypeHierarchy hierarchy = TypeHierarchy.forNode(unit);
+        assertFalse(hierarchy.isSubtypeOf(get(unit, "C"), get(unit, "F")));
+
+        get(unit, "C").setExtendedTypes(new NodeList<>(new ClassOrInterfaceType(null, "F")));
+        assertTrue(hierarchy.isSubtypeOf(get(unit, "C"), get(unit, "F")));
+        get(unit, "C").getExtendedTypes().clear();
+        assertFalse(hierarchy.isSubtypeOf(get(unit, "C"), get(unit, "F")));
+    }
+
+    @Test
+    public void testAncestorsHaveTheTypeArguments() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = parse(resolver);
+        TypeHierarchy hierarchy = TypeHierarchy.forNode(unit);
+        ClassOrInterfaceType listType =
+            StaticJavaParser.parseClassOrInterfaceType("java.util.List<String>");
+        listType.setParentNode(get(unit, "C"));
+        ResolvedReferenceType list = listType.resolve().asReferenceType();
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(hierarchy.getAncestors(list).stream().map(ResolvedType::describe).anyMatch(
+                "java.util.Collection<java.lang.String>"::equals));
+        }
+    }
+
+    private static ClassOrInterfaceDeclaration get(CompilationUnit unit, String name) {
+        return unit.findFirst(ClassOrInterfaceDeclaration.class,
+                              classOrI -> classOrI.getNameAsString().equals(name)).get();
+    }
+
+    private static CompilationUnit parse(ProjectSymbolResolver resolver) {
+        JavaParser parser = new JavaParser(new ParserConfiguration().setSymbolResolver(resolver));
+        return parser.parse(SOURCE).getResult().get();
+    }
+}
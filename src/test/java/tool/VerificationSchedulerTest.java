@@ -0,0 +1,135 @@
+package tool;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import org.junit.jupiter.api.Test;
+import tool.designpatterns.Pattern;
+import tool.designpatterns.PatternGroup;
+import tool.designpatterns.PatternUtils;
+import tool.feedback.PatternGroupFeedback;
+import tool.util.ParallelTasks;
+
+public class VerificationSchedulerTest {
+
+    @Test
+    public void testConcurrentVerificationGivesSameFeedback() {
+        // Each run gets its own groups, the composite verifier removes classes from the lists.
+        List<String> serial = messages(
+            VerificationScheduler.verifyAll(getGroups("src/test/java/mocks"), 1));
+        List<String> concurrent = messages(
+            VerificationScheduler.verifyAll(getGroups("src/test/java/mocks"), 4));
+
+        assertTrue(serial.size() > 1);
+        assertEquals(serial, concurrent);
+    }
+
+    @Test
+    public void testFeedbackIsInGroupOrder() {
+        List<PatternGroup> order = VerificationScheduler.verifyAll(
+            getGroups("src/test/java/mocks"), 4).stream().map(
+            PatternGroupFeedback::getPatternGroup).collect(Collectors.toList());
+
+        List<PatternGroup> sorted = new ArrayList<>(order);
+        sorted.sort(null);
+        assertEquals(sorted, order);
+    }
+
+    @Test
+    public void testVerifiersSharingResolverGiveSameFeedback() {
+        // Every verifier runs several times at once, on as many threads as there are runs.
+        List<PatternGroup> verified = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            verified.addAll(
+                List.of(PatternGroup.PROXY, PatternGroup.ADAPTER, PatternGroup.COMPOSITE));
+        }
+        Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> serialGroups =
+            getMultiClassGroups();
+        Map<PatternGroup, String> serial = new EnumMap<>(PatternGroup.class);
+        for (PatternGroup group : verified) {
+            serial.computeIfAbsent(group, key -> key.getVerifier().verifyGroup(
+                copy(serialGroups.get(key))).getFullMessage());
+        }
+
+        // Parsed again, so that the verifiers start from a resolver that has resolved nothing.
+        Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> groups =
+            getMultiClassGroups();
+        List<Map<Pattern, List<ClassOrInterfaceDeclaration>>> copies = verified.stream().map(
+            group -> copy(groups.get(group))).collect(Collectors.toList());
+        List<String> concurrent = ParallelTasks.map(
+            IntStream.range(0, verified.size()).boxed().collect(Collectors.toList()),
+            i -> verified.get(i).getVerifier().verifyGroup(copies.get(i)).getFullMessage(),
+            verified.size());
+
+        for (int i = 0; i < verified.size(); i++) {
+            assertEquals(serial.get(verified.get(i)), concurrent.get(i));
+        }
+    }
+
+    /**
+     * The adapter group of the mocks, and a proxy and composite group made of mocks that are not
+     * annotated, all parsed with the same symbol resolver.
+     */
+    private static Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>>
+        getMultiClassGroups() {
+        List<ClassOrInterfaceDeclaration> classes = ProjectParser.findAllClassesAndInterfaces(
+            "src/test/java/mocks", 4);
+        Map<String, ClassOrInterfaceDeclaration> byName = new HashMap<>();
+        classes.forEach(classOrI -> byName.put(classOrI.getFullyQualifiedName().get(), classOrI));
+        AnnotationExtractor extractor = new AnnotationExtractor();
+        extractor.findAnnotations(classes);
+
+        Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> groups =
+            new EnumMap<>(PatternGroup.class);
+        groups.put(PatternGroup.ADAPTER, Map.of(
+            Pattern.ADAPTER_ADAPTER, extractor.getPatternClassMap().get(Pattern.ADAPTER_ADAPTER),
+            Pattern.ADAPTER_ADAPTEE, extractor.getPatternClassMap().get(Pattern.ADAPTER_ADAPTEE)));
+        groups.put(PatternGroup.PROXY, Map.of(
+            Pattern.PROXY_INTERFACE, List.of(byName.get("mocks.proxy.workingproxy.ProxyInterface")),
+            Pattern.PROXY_SUBJECT, List.of(byName.get("mocks.proxy.workingproxy.Subject")),
+            Pattern.PROXY_PROXY, List.of(byName.get("mocks.proxy.workingproxy.Proxy"))));
+        groups.put(PatternGroup.COMPOSITE, Map.of(
+            Pattern.COMPOSITE_COMPONENT, List.of(byName.get("mocks.composite.Component")),
+            Pattern.COMPOSITE_CONTAINER, List.of(
+                byName.get("mocks.composite.CorrectContainerAllLoops"),
+                byName.get("mocks.composite.FailingContainerNoDelegate")),
+            Pattern.COMPOSITE_LEAF, List.of(byName.get("mocks.composite.Leaf"))));
+        return groups;
+    }
+
+    private static Map<Pattern, List<ClassOrInterfaceDeclaration>> copy(
+        Map<Pattern, List<ClassOrInterfaceDeclaration>> patternMap) {
+        Map<Pattern, List<ClassOrInterfaceDeclaration>> copy = new HashMap<>();
+        patternMap.forEach((pattern, classes) -> copy.put(pattern, new ArrayList<>(classes)));
+        return copy;
+    }
+
+    private static Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> getGroups(
+        String path) {
+        AnnotationExtractor extractor = new AnnotationExtractor();
+        extractor.findAnnotations(ProjectParser.findAnnotatedClassesAndInterfaces(path, 4));
+
+        Map<PatternGroup, Map<Pattern, List<ClassOrInterfaceDeclaration>>> groups =
+            new EnumMap<>(PatternGroup.class);
+        extractor.getPatternClassMap().forEach(
+            (pattern, classes) -> groups.computeIfAbsent(
+                PatternUtils.patternGroupFromPattern(pattern), group -> new HashMap<>())
+                                        .put(pattern, classes));
+        return groups;
+    }
+
+    private static List<String> messages(List<PatternGroupFeedback> feedbacks) {
+        return feedbacks.stream().map(PatternGroupFeedback::getFullMessage)
+                        .collect(Collectors.toList());
+    }
+}
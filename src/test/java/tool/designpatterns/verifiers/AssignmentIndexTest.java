@@ -0,0 +1,45 @@
+package tool.designpatterns.verifiers;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.AssignExpr;
+
+import org.junit.jupiter.api.Test;
+
+public class AssignmentIndexTest {
+
+    private static final String SOURCE =
+        "class A {\n" + "    private int a, b, c, d;\n" + "    void set(int b) {\n" +
+        "        b = 1;\n" + "        if (b > 0) {\n" + "            a = 2;\n" +
+        "            int c = 3;\n" + "            c = 4;\n" + "        }\n" +
+        "        c = 5;\n" + "        for (int d = 0; d < 2; d++) {\n" + "            d = 6;\n" +
+        "        }\n" + "        Runnable r = () -> d = 7;\n" + "        java.util.function" +
+        ".IntConsumer f = a -> a = 8;\n" + "        new Object() {\n" + "            int e;\n" +
+        "            void set() {\n" + "                a = 9;\n" + "            }\n" +
+        "        };\n" + "    }\n" + "}\n";
+
+    @Test
+    public void testScopesAreRespected() {
+        MethodDeclaration method = StaticJavaParser.parse(SOURCE).findFirst(
+            MethodDeclaration.class).get();
+        AssignmentIndex index = AssignmentIndex.forMethod(method);
+
+        // The parameter b, the local c in the block and the lambda parameter a are not fields.
+        assertEquals(List.of(6), lines(index.getAssignments("a")));
+        assertEquals(List.of(), lines(index.getAssignments("b")));
+        assertEquals(List.of(10), lines(index.getAssignments("c")));
+        // The loop variable d is only in scope in the loop, the lambda assigns the field.
+        assertEquals(List.of(14), lines(index.getAssignments("d")));
+    }
+
+    private static List<Integer> lines(List<AssignExpr> assignments) {
+        List<Integer> lines = new ArrayList<>();
+        assignments.forEach(assignment -> lines.add(assignment.getBegin().get().line));
+        return lines;
+    }
+}
@@ -0,0 +1,76 @@
+package tool.designpatterns.verifiers;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertSame;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import org.junit.jupiter.api.Test;
+import tool.ProjectSymbolResolver;
+import tool.ProjectTypeSolver;
+
+public class CallSiteTest {
+
+    private static final String SOURCE =
+        "package a;\n" + "class Subject { void get() { } }\n" +
+        "class Proxy {\n" + "    Subject subject;\n" +
+        "    void get() { subject.get(); missing.run(); help(); }\n" +
+        "    void help() { }\n" + "}\n";
+
+    @Test
+    public void testCallsAreResolvedOnce() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        JavaParser parser = new JavaParser(new ParserConfiguration().setSymbolResolver(resolver));
+        CompilationUnit unit = parser.parse(SOURCE).getResult().get();
+        MethodDeclaration method = unit.findAll(MethodDeclaration.class).get(1);
+
+        List<CallSite> calls = CallSite.callsIn(method);
+        assertEquals(calls, CallSite.callsIn(method));
+        assertEquals(3, calls.size());
+        List<MethodCallExpr> found = method.findAll(MethodCallExpr.class);
+        for (int i = 0; i < found.size(); i++) {
+            assertSame(calls.get(i), CallSite.forCall(found.get(i)));
+        }
+
+        CallSite delegation = calls.get(0);
+        assertEquals(Optional.of("a.Subject.get"), delegation.getCalleeName());
+        assertEquals(Optional.of("a.Subject"), delegation.getReceiverType());
+        assertTrue(delegation.getCalleeDeclaration().isPresent());
+        assertFalse(calls.get(1).getCalleeName().isPresent());
+        assertFalse(calls.get(1).getReceiverType().isPresent());
+        assertEquals(Optional.of("a.Proxy.help"), calls.get(2).getCalleeName());
+        assertFalse(calls.get(2).getReceiverType().isPresent());
+
+        long misses = resolver.getCacheMisses();
+        assertEquals(Optional.of("a.Subject.get"), delegation.getCalleeName());
+        assertEquals(Optional.of("a.Subject"), delegation.getReceiverType());
+        assertEquals(misses, resolver.getCacheMisses());
+    }
+
+    @Test
+    public void testCallsInNestedClassesHaveOneSite() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        JavaParser parser = new JavaParser(new ParserConfiguration().setSymbolResolver(resolver));
+        CompilationUnit unit = parser.parse(
+            "class Outer {\n" + "    void run() { class Local { void go() { run(); } } }\n" +
+            "}\n").getResult().get();
+        MethodDeclaration run = unit.findAll(MethodDeclaration.class).get(0);
+        MethodDeclaration go = unit.findAll(MethodDeclaration.class).get(1);
+        MethodCallExpr call = go.findAll(MethodCallExpr.class).get(0);
+
+        assertSame(CallSite.forCall(call), CallSite.callsIn(run).get(0));
+        assertSame(CallSite.forCall(call), CallSite.callsIn(go).get(0));
+    }
+}
@@ -0,0 +1,97 @@
+package tool.designpatterns.verifiers;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertSame;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.stmt.Statement;
+
+import org.junit.jupiter.api.Test;
+import utilities.TestHelper;
+
+public class ClassFactsTest {
+
+    @Test
+    public void testFactsAreCollectedOnce() throws IOException {
+        ClassOrInterfaceDeclaration classOrI = TestHelper.getMockClassOrI(
+            "singleton", "LazySingletonMock");
+        ClassFacts facts = ClassFacts.forClass(classOrI);
+
+        assertSame(facts, ClassFacts.forClass(classOrI));
+        assertEquals(classOrI.findAll(ConstructorDeclaration.class), facts.getConstructors());
+        assertEquals(classOrI.findAll(FieldDeclaration.class), facts.getFields());
+        assertEquals(classOrI.findAll(MethodDeclaration.class), facts.getMethods());
+        assertEquals(classOrI.findAll(ObjectCreationExpr.class), facts.getObjectCreations());
+        assertEquals(classOrI.findAll(VariableDeclarator.class), facts.getVariables());
+        for (MethodDeclaration method : facts.getMethods()) {
+            assertEquals(method.findAll(MethodCallExpr.class), facts.getMethodCalls(method));
+        }
+    }
+
+    @Test
+    public void testLoopsAndMethodReferencesAreFound() throws IOException {
+        ClassOrInterfaceDeclaration classOrI = TestHelper.getMockClassOrI(
+            "composite", "CorrectContainerAllLoops");
+        ClassFacts facts = ClassFacts.forClass(classOrI);
+
+        for (MethodDeclaration method : facts.getMethods()) {
+            assertEquals(method.findAll(Statement.class, statement ->
+                statement.isForStmt() || statement.isForEachStmt() || statement.isWhileStmt() ||
+                statement.isDoStmt()), facts.getLoops(method));
+            assertEquals(method.findAll(MethodReferenceExpr.class),
+                         facts.getMethodReferences(method));
+        }
+        MethodDeclaration bar = classOrI.getMethodsByName("bar").get(0);
+        assertEquals(1, facts.getMethodReferences(bar).size());
+        assertTrue(facts.getLoops(bar).isEmpty());
+        assertEquals(1, facts.getLoops(classOrI.getMethodsByName("foo").get(0)).size());
+    }
+
+    @Test
+    public void testLoopsAndCallsAreInVisitOrder() {
+        ClassOrInterfaceDeclaration classOrI = StaticJavaParser.parse(
+            "class A {\n" + "    void run(boolean b) {\n" +
+            "        if (b) { first(); } else { while (b) { } }\n" + "        x.m().n(y.k());\n" +
+            "    }\n" + "}\n").getClassByName("A").get();
+        MethodDeclaration run = classOrI.getMethodsByName("run").get(0);
+
+        // The else branch is visited before the then branch, the arguments before the scope.
+        List<Node> loopsAndCalls = ClassFacts.forClass(classOrI).getLoopsAndCalls(run);
+        assertEquals(List.of("while (b) {\n}", "first()", "x.m().n(y.k())", "y.k()", "x.m()"),
+                     loopsAndCalls.stream().map(Node::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testLocalVariablesAreNotAssignments() throws IOException {
+        ClassOrInterfaceDeclaration classOrI = TestHelper.getMockClassOrI(
+            "immutable", "ImmutableClassSuccessLocalVariable");
+        MethodDeclaration method = classOrI.getMethodsByName("asd").get(0);
+
+        assertTrue(ClassFacts.forClass(classOrI).getAssignments(method, "b").isEmpty());
+    }
+
+    @Test
+    public void testAssignmentsAreFound() throws IOException {
+        ClassOrInterfaceDeclaration classOrI = TestHelper.getMockClassOrI(
+            "immutable", "ImmutableClassFailReassignment");
+        MethodDeclaration method = classOrI.getMethodsByName("asd").get(0);
+        ClassFacts facts = ClassFacts.forClass(classOrI);
+
+        assertEquals(1, facts.getAssignments(method, "a").size());
+        assertTrue(facts.getAssignments(method, "b").isEmpty());
+    }
+}
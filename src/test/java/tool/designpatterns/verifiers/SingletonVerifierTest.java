@@ -2,7 +2,11 @@ package tool.designpatterns.verifiers;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
 import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
 import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
 
@@ -56,4 +60,34 @@ public class SingletonVerifierTest {
         assertTrue(new SingletonVerifier().verify(toTest).getIsError());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testSharedVerifierGivesSameResult() throws FileNotFoundException {
+        String[] mocks = {"EagerSingletonMock", "FailingSingletonMock", "LazySingletonMock",
+            "SingletonMockMultipleAccessMethods", "SingletonMockWithElseStmt"};
+        List<ClassOrInterfaceDeclaration> classes = new ArrayList<>();
+        List<Boolean> expected = new ArrayList<>();
+        for (String mock : mocks) {
+            toTest = TestHelper.getMockClassOrI("singleton", mock);
+            classes.add(toTest);
+            expected.add(new SingletonVerifier().verify(toTest).getIsError());
+        }
+
+        SingletonVerifier shared = new SingletonVerifier();
+        assertEquals(expected, classes.stream().map(classOrI -> shared.verify(classOrI)
+            .getIsError()).collect(Collectors.toList()));
+        assertEquals(expected, classes.parallelStream().map(classOrI -> shared.verify(classOrI)
+            .getIsError()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testPredicatesCanBeCheckedOnTheirOwn() throws FileNotFoundException {
+        SingletonVerifier verifier = new SingletonVerifier();
+        toTest = TestHelper.getMockClassOrI("singleton", "LazySingletonMock");
+        assertFalse(verifier.onlyInstantiatedIfNull(toTest).getIsError());
+        assertFalse(verifier.staticInstance(toTest.getFields().get(0), toTest.getNameAsString())
+                            .getIsError());
+
+        toTest = TestHelper.getMockClassOrI("singleton", "SingletonMockWithElseStmt");
+        assertTrue(verifier.onlyInstantiatedIfNull(toTest).getIsError());
+    }
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
 import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
 import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
 
@@ -125,4 +126,26 @@ public class DecoratorVerifierTest {
         var decoratorVerifier = new DecoratorVerifier();
         assertTrue(decoratorVerifier.verifyGroup(testMap).hasError());
     }
+
+    /**
+     * Tests that the classes are still in the map after the group has been verified, so that
+     * verifying it again gives the same result.
+     */
+    @Test
+    public void testVerifyingTwiceGivesSameResult() throws FileNotFoundException {
+        HashMap<Pattern, List<ClassOrInterfaceDeclaration>> testMap = new HashMap<>();
+        testMap.put(Pattern.DECORATOR_INTERFACE_COMPONENT, new ArrayList<>(List.of(
+            TestHelper.getMockClassOrI("decorator/correctpattern", "IBeverageComponent"))));
+        testMap.put(Pattern.DECORATOR_CONCRETE_COMPONENT, new ArrayList<>(
+            List.of(TestHelper.getMockClassOrI("decorator/correctpattern", "Coffee"))));
+        testMap.put(Pattern.DECORATOR_ABSTRACT_DECORATOR, new ArrayList<>(
+            List.of(TestHelper.getMockClassOrI("decorator/correctpattern", "CoffeeDecorator"))));
+        testMap.put(Pattern.DECORATOR_CONCRETE_DECORATOR, new ArrayList<>(
+            List.of(TestHelper.getMockClassOrI("decorator/correctpattern", "Milk"))));
+
+        var decoratorVerifier = new DecoratorVerifier();
+        assertFalse(decoratorVerifier.verifyGroup(testMap).hasError());
+        assertFalse(decoratorVerifier.verifyGroup(testMap).hasError());
+        assertEquals(1, testMap.get(Pattern.DECORATOR_CONCRETE_COMPONENT).size());
+    }
 }
@@ -35,6 +35,13 @@ public class ProxyVerifierTest {
         assertFalse(new ProxyVerifier().verifyGroup(patternGroup).hasError());
     }
 
+    @Test
+    void testProxyWithPrimitiveFields() {
+        Map<Pattern, List<ClassOrInterfaceDeclaration>> patternGroup = getPatternGroup(
+            "proxy/proxywithprimitivefields", false);
+        assertFalse(new ProxyVerifier().verifyGroup(patternGroup).hasError());
+    }
+
     @Test
     void testEmptyProxies() {
         Map<Pattern, List<ClassOrInterfaceDeclaration>> proxyGroup = new HashMap<>();
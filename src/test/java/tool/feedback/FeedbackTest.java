@@ -0,0 +1,42 @@
+package tool.feedback;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertSame;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class FeedbackTest {
+
+    @Test
+    public void testSuccessesAreNotKept() {
+        List<Feedback> successes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            successes.add(Feedback.getSuccessfulFeedback());
+        }
+
+        Feedback success = Feedback.getSuccessfulFeedback();
+        assertSame(success, Feedback.getPatternInstanceFeedback(successes));
+        assertSame(success,
+            Feedback.getFeedbackWithChildren(new FeedbackTrace("trace"), successes));
+        assertFalse(success.getIsError());
+        assertTrue(success.getChildren().isEmpty());
+        assertEquals("", success.getFullMessage());
+    }
+
+    @Test
+    public void testOnlyErrorsAreKept() {
+        Feedback error = Feedback.getPatternInstanceNoChildFeedback("error");
+        Feedback feedback = Feedback.getFeedbackWithChildren(new FeedbackTrace("trace"),
+            Arrays.asList(Feedback.getSuccessfulFeedback(), error, null));
+
+        assertTrue(feedback.getIsError());
+        assertEquals(List.of(error), feedback.getChildren());
+        assertEquals("  trace : \n    error\n", feedback.getFullMessage());
+    }
+}
@@ -0,0 +1,56 @@
+package tool.feedback;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import org.junit.jupiter.api.Test;
+import tool.ProjectSymbolResolver;
+import tool.ProjectTypeSolver;
+
+public class FeedbackTraceTest {
+
+    private static final String SOURCE =
+        "class A {\n" + "    int first, second;\n" + "    int get() {\n" + "        return 1;\n" +
+        "    }\n" + "}\n";
+
+    @Test
+    public void testNodesAreOnlyResolvedWhenTheMessageIsShown() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = new JavaParser(
+            new ParserConfiguration().setSymbolResolver(resolver)).parse(SOURCE).getResult().get();
+
+        Feedback feedback = Feedback.getNoChildFeedback(
+            "error", new FeedbackTrace(unit.findFirst(MethodDeclaration.class).get()));
+        assertEquals(0, resolver.getCacheMisses());
+
+        assertEquals("  On lines 3 - 5 in method A.get : error\n", feedback.getFullMessage());
+        assertEquals(1, resolver.getCacheMisses());
+
+        // The message is kept once shown.
+        assertEquals("  On lines 3 - 5 in method A.get : error\n", feedback.getFullMessage());
+        assertEquals(1, resolver.getCacheMisses());
+        assertEquals(0, resolver.getCacheHits());
+    }
+
+    @Test
+    public void testMessages() {
+        ProjectSymbolResolver resolver = new ProjectSymbolResolver(
+            new ProjectTypeSolver(new ReflectionTypeSolver()));
+        CompilationUnit unit = new JavaParser(
+            new ParserConfiguration().setSymbolResolver(resolver)).parse(SOURCE).getResult().get();
+
+        assertEquals("On lines 1 - 6 in class A",
+            new FeedbackTrace(unit.findFirst(ClassOrInterfaceDeclaration.class).get()).toString());
+        assertEquals("On lines 2 - 2 in the field declarations for variables: first, second",
+            new FeedbackTrace(unit.findFirst(FieldDeclaration.class).get()).toString());
+        assertEquals("stored", new FeedbackTrace("stored").toString());
+    }
+}
@@ -0,0 +1,66 @@
+package tool.feedback;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tool.AnalyserSettings;
+import tool.MainProgram;
+import tool.designpatterns.PatternGroup;
+import utilities.SyntheticProject;
+
+public class FeedbackWriterTest {
+
+    @Test
+    public void testLinesAreLimited() throws IOException {
+        List<Feedback> errors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            errors.add(Feedback.getPatternInstanceNoChildFeedback("error " + i));
+        }
+        Feedback feedback = Feedback.getFeedbackWithChildren(new FeedbackTrace("trace"), errors);
+
+        StringBuilder full = new StringBuilder();
+        FeedbackWriter fullWriter = new FeedbackWriter(full);
+        fullWriter.write(feedback, "  ");
+        assertEquals(feedback.getFullMessage(), full.toString());
+        assertFalse(fullWriter.isTruncated());
+
+        StringBuilder summary = new StringBuilder();
+        FeedbackWriter summaryWriter = new FeedbackWriter(summary, 3);
+        summaryWriter.write(feedback, "  ");
+        assertEquals("  trace : \n    error 0\n    error 1\n", summary.toString());
+        assertTrue(summaryWriter.isFull());
+        assertTrue(summaryWriter.isTruncated());
+    }
+
+    @Test
+    public void testAllErrorsAreWrittenToTheReport(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("src");
+        SyntheticProject.defaults().withBrokenInstances(1).generate(root);
+        Path report = dir.resolve("reports").resolve("report.txt");
+
+        String message = "";
+        try {
+            MainProgram.startAnalyse(new String[] {root.toString()},
+                                     AnalyserSettings.defaults().withReportFile(report));
+        } catch (GradleException e) {
+            message = e.getMessage();
+        }
+
+        String written = new String(Files.readAllBytes(report));
+        for (PatternGroup group : PatternGroup.values()) {
+            assertTrue(group + " should fail", written.contains(
+                "Verification of the design pattern " + group + " failed"));
+        }
+        assertTrue(message.startsWith("\n\nStaticAnalyser found the following errors: \n"));
+    }
+}
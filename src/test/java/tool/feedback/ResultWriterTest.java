@@ -0,0 +1,112 @@
+package tool.feedback;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tool.AnalyserSettings;
+import tool.MainProgram;
+import tool.ProjectSymbolResolver;
+import tool.ProjectTypeSolver;
+import tool.designpatterns.PatternGroup;
+import utilities.SyntheticProject;
+
+public class ResultWriterTest {
+
+    @Test
+    public void testResultsOfEveryGroupAreWritten(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("src");
+        SyntheticProject.defaults().withBrokenInstances(1).generate(root);
+        Path sarif = dir.resolve("reports").resolve("results.sarif");
+        Path json = dir.resolve("reports").resolve("results.json");
+
+        try {
+            MainProgram.startAnalyse(new String[] {root.toString()},
+                                     AnalyserSettings.defaults()
+                                                     .withResultFile(ResultWriter.Format.SARIF,
+                                                                     sarif)
+                                                     .withResultFile(ResultWriter.Format.JSON,
+                                                                     json));
+        } catch (GradleException e) {
+            // The broken instances fail the build, the results are written anyway.
+        }
+
+        Set<PatternGroup> failed = EnumSet.noneOf(PatternGroup.class);
+        boolean located = false;
+        for (JsonValue value : read(json).getJsonArray("results")) {
+            JsonObject result = (JsonObject) value;
+            failed.add(PatternGroup.valueOf(result.getString("group")));
+            if (result.containsKey("file")) {
+                located = true;
+                assertTrue(Files.exists(Paths.get(result.getString("file"))));
+                assertTrue(result.getInt("startLine") <= result.getInt("endLine"));
+            }
+        }
+        assertEquals(EnumSet.allOf(PatternGroup.class), failed);
+        assertTrue(located);
+
+        JsonObject run = read(sarif).getJsonArray("runs").getJsonObject(0);
+        assertEquals(PatternGroup.values().length,
+                     run.getJsonObject("tool").getJsonObject("driver").getJsonArray("rules")
+                        .size());
+        for (JsonValue value : run.getJsonArray("results")) {
+            JsonObject result = (JsonObject) value;
+            PatternGroup.valueOf(result.getString("ruleId"));
+            assertEquals("error", result.getString("level"));
+        }
+        assertEquals(read(json).getJsonArray("results").size(),
+                     run.getJsonArray("results").size());
+    }
+
+    @Test
+    public void testStoredFeedbackKeepsItsLocation(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("A.java");
+        Files.write(file, List.of("class A {", "    void get() {", "    }", "}"));
+        CompilationUnit unit = new JavaParser(new ParserConfiguration().setSymbolResolver(
+            new ProjectSymbolResolver(new ProjectTypeSolver(new ReflectionTypeSolver())))).parse(
+            file).getResult().get();
+        MethodDeclaration method = unit.findFirst(MethodDeclaration.class).get();
+        PatternGroupFeedback feedback = new PatternGroupFeedback(PatternGroup.IMMUTABLE, List.of(
+            Feedback.getNoChildFeedback("error", new FeedbackTrace(method))));
+
+        String written = write(feedback);
+        assertTrue(written.contains("\"file\":\"" + file.toString().replace("\\", "\\\\")));
+        assertTrue(written.contains("\"startLine\":2,\"endLine\":3"));
+        assertEquals(written, write(FeedbackJson.fromJson(FeedbackJson.toJson(feedback))));
+    }
+
+    private static String write(PatternGroupFeedback feedback) {
+        StringWriter out = new StringWriter();
+        try (ResultWriter writer = new ResultWriter(out, ResultWriter.Format.JSON)) {
+            writer.write(feedback);
+        }
+        return out.toString();
+    }
+
+    private static JsonObject read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return Json.createReader(reader).readObject();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package tool.metrics;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tool.AnalyserSettings;
+import tool.MainProgram;
+import tool.designpatterns.PatternGroup;
+import utilities.SyntheticProject;
+
+public class MetricsTest {
+
+    @Test
+    public void testEveryStageIsMeasured(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("src");
+        SyntheticProject.defaults().generate(root);
+
+        Metrics metrics = analyse(root, AnalyserSettings.defaults().withThreads(2));
+        Map<String, StageMetrics> stages = new HashMap<>();
+        metrics.getStages().forEach(stage -> stages.put(stage.getName(), stage));
+
+        for (String name : new String[] {"analyse", "configure", "parse", "extract", "verify"}) {
+            assertTrue(name + " should be measured", stages.containsKey(name));
+        }
+        for (PatternGroup group : PatternGroup.values()) {
+            StageMetrics stage = stages.get("verify." + group);
+            assertTrue(group + " should be measured", stage != null);
+            assertTrue(stage.getWallTimeNanos() <= stages.get("verify").getWallTimeNanos());
+        }
+        assertTrue(stages.get("parse").getCpuTimeNanos() > 0);
+        assertTrue(stages.get("parse").getAllocatedBytes() > 0);
+        // The verifiers resolve symbols, finding the annotations does not.
+        assertTrue(stages.get("verify.PROXY").getResolveCalls() > 0);
+        assertEquals(0, stages.get("extract").getResolveCalls());
+    }
+
+    @Test
+    public void testReportIsWrittenWhenTheBuildFails(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("src");
+        SyntheticProject.defaults().withBrokenInstances(1).generate(root);
+        Path report = dir.resolve("reports").resolve("metrics.json");
+
+        AnalyserSettings settings = AnalyserSettings.defaults().withMetricsListener(metrics -> {
+            try {
+                metrics.writeReport(report);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        boolean failed = false;
+        try {
+            MainProgram.startAnalyse(new String[] {root.toString()}, settings);
+        } catch (GradleException e) {
+            failed = true;
+        }
+        assertTrue(failed);
+
+        JsonObject json;
+        try (Reader reader = Files.newBufferedReader(report)) {
+            json = Json.createReader(reader).readObject();
+        }
+        assertTrue(json.getJsonNumber("wallTimeNanos").longValue() > 0);
+        assertTrue(json.getJsonNumber("resolveCalls").longValue() > 0);
+        assertTrue(json.getJsonArray("stages").size() > PatternGroup.values().length);
+    }
+
+    @Test
+    public void testIncrementalStagesAreMeasured(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("src");
+        SyntheticProject.defaults().generate(root);
+
+        Metrics metrics = analyse(
+            root, AnalyserSettings.defaults().withCacheDirectory(dir.resolve("cache")));
+        Map<String, StageMetrics> stages = new HashMap<>();
+        metrics.getStages().forEach(stage -> stages.put(stage.getName(), stage));
+
+        for (String name : new String[] {"hash", "parse", "verify", "save"}) {
+            assertTrue(name + " should be measured", stages.containsKey(name));
+        }
+    }
+
+    private static Metrics analyse(Path root, AnalyserSettings settings) {
+        AtomicReference<Metrics> result = new AtomicReference<>();
+        MainProgram.startAnalyse(
+            new String[] {root.toString()}, settings.withMetricsListener(result::set));
+        return result.get();
+    }
+}
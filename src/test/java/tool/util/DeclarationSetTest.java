@@ -0,0 +1,51 @@
+package tool.util;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertFalse;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import org.junit.jupiter.api.Test;
+
+public class DeclarationSetTest {
+
+    @Test
+    public void testIdenticalClassesAreDifferentDeclarations() {
+        ClassOrInterfaceDeclaration first = parse("package a; class A { void get() { } }");
+        ClassOrInterfaceDeclaration second = parse("package b; class A { void get() { } }");
+        DeclarationSet set = new DeclarationSet(List.of(first));
+
+        assertEquals(first, second);
+        assertTrue(DeclarationIds.idOf(first) != DeclarationIds.idOf(second));
+        assertTrue(set.contains(first));
+        assertFalse(set.contains(second));
+        assertEquals(List.of(second), set.without(List.of(first, second)));
+    }
+
+    @Test
+    public void testDeclarationsNumberedEarlierCanBeAdded() {
+        ClassOrInterfaceDeclaration first = parse("class A { }");
+        ClassOrInterfaceDeclaration second = parse("class B { }");
+        ClassOrInterfaceDeclaration third = parse("class C { }");
+        DeclarationIds.number(first);
+        DeclarationIds.number(second);
+        DeclarationIds.number(third);
+
+        DeclarationSet set = new DeclarationSet();
+        assertTrue(set.add(third));
+        assertTrue(set.add(first));
+        assertFalse(set.add(third));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(first));
+        assertFalse(set.contains(second));
+        assertTrue(set.contains(third));
+    }
+
+    private static ClassOrInterfaceDeclaration parse(String code) {
+        return StaticJavaParser.parse(code).findFirst(ClassOrInterfaceDeclaration.class).get();
+    }
+}
@@ -0,0 +1,72 @@
+package utilities;
+
+import static org.gradle.internal.impldep.org.junit.Assert.assertEquals;
+import static org.gradle.internal.impldep.org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tool.designpatterns.DesignPattern;
+
+public class SyntheticProjectTest {
+
+    private final SyntheticProject project = SyntheticProject.defaults().withFillerClasses(1200)
+                                                             .withPatternInstances(2)
+                                                             .withBrokenInstances(1)
+                                                             .withInheritanceDepth(4);
+
+    @Test
+    public void testGeneratedProjectCompiles(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("src");
+        List<Path> files = project.generate(root);
+        assertEquals(project.getTypeCount(), files.size());
+
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-d");
+        arguments.add(dir.resolve("classes").toString());
+        arguments.add("-cp");
+        // The generated code only depends on the annotations.
+        arguments.add(Paths.get(URI.create(DesignPattern.class.getProtectionDomain().getCodeSource()
+                                               .getLocation().toString())).toString());
+        files.forEach(file -> arguments.add(file.toString()));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])));
+    }
+
+    @Test
+    public void testSameSettingsGenerateSameProject(@TempDir Path dir) throws IOException {
+        List<Path> first = project.generate(dir.resolve("first"));
+        List<Path> second = project.generate(dir.resolve("second"));
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(dir.resolve("first").relativize(first.get(i)),
+                         dir.resolve("second").relativize(second.get(i)));
+            assertTrue(Files.readString(first.get(i)).equals(Files.readString(second.get(i))));
+        }
+    }
+
+    @Test
+    public void testDelete(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("src");
+        project.generate(root);
+        SyntheticProject.delete(root);
+
+        assertTrue(Files.notExists(root));
+        try (Stream<Path> left = Files.list(dir)) {
+            assertEquals(0, left.count());
+        }
+    }
+}
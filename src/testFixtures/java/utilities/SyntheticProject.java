@@ -0,0 +1,393 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a compilable Java project to measure the analyser on. Every pattern is implemented
+ * correctly, and incorrectly, a given number of times, next to unannotated filler classes that
+ * extend each other up to a given depth. The same settings always generate the same files.
+ */
+public final class SyntheticProject {
+
+    private static final String PACKAGE = "synthetic";
+    private static final String BROKEN = "Broken";
+    private static final int CLASSES_PER_PACKAGE = 500;
+
+    private final int fillerClasses;
+    private final int patternInstances;
+    private final int brokenInstances;
+    private final int inheritanceDepth;
+
+    private SyntheticProject(
+        int fillerClasses, int patternInstances, int brokenInstances, int inheritanceDepth) {
+        this.fillerClasses = fillerClasses;
+        this.patternInstances = patternInstances;
+        this.brokenInstances = brokenInstances;
+        this.inheritanceDepth = inheritanceDepth;
+    }
+
+    /**
+     * A small project with 100 filler classes, one correct instance of every pattern, no broken
+     * instances and an inheritance depth of 3.
+     *
+     * @return the settings of the project.
+     */
+    public static SyntheticProject defaults() {
+        return new SyntheticProject(100, 1, 0, 3);
+    }
+
+    public SyntheticProject withFillerClasses(int fillerClasses) {
+        return new SyntheticProject(
+            fillerClasses, patternInstances, brokenInstances, inheritanceDepth);
+    }
+
+    public SyntheticProject withPatternInstances(int patternInstances) {
+        return new SyntheticProject(
+            fillerClasses, patternInstances, brokenInstances, inheritanceDepth);
+    }
+
+    /**
+     * Sets how many times every pattern is implemented incorrectly, every broken instance makes
+     * the verification of its pattern group fail.
+     *
+     * @param brokenInstances the number of broken instances of every pattern.
+     *
+     * @return the new settings.
+     */
+    public SyntheticProject withBrokenInstances(int brokenInstances) {
+        return new SyntheticProject(
+            fillerClasses, patternInstances, brokenInstances, inheritanceDepth);
+    }
+
+    /**
+     * Sets how many filler classes extend each other, a depth of 1 means that no filler class
+     * extends another.
+     *
+     * @param inheritanceDepth the length of every chain of filler classes.
+     *
+     * @return the new settings.
+     */
+    public SyntheticProject withInheritanceDepth(int inheritanceDepth) {
+        return new SyntheticProject(
+            fillerClasses, patternInstances, brokenInstances, Math.max(1, inheritanceDepth));
+    }
+
+    /**
+     * The number of classes and interfaces that are declared in the project.
+     *
+     * @return the number of types, which is also the number of files.
+     */
+    public int getTypeCount() {
+        // Singleton, immutable, decorator, adapter, proxy and composite.
+        final int typesPerInstance = 1 + 1 + 4 + 3 + 3 + 3;
+        return fillerClasses + (patternInstances + brokenInstances) * typesPerInstance;
+    }
+
+    /**
+     * Writes the project to the given source root.
+     *
+     * @param root the source root to write to, it is created if it does not exist.
+     *
+     * @return the written files, sorted by path.
+     *
+     * @throws IOException if a file could not be written.
+     */
+    public List<Path> generate(Path root) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < fillerClasses; i++) {
+            files.add(write(root, fillerPackage(i), "Filler" + i, fillerClass(i)));
+        }
+        for (int i = 0; i < patternInstances; i++) {
+            files.addAll(writePatterns(root, String.valueOf(i), false));
+        }
+        for (int i = 0; i < brokenInstances; i++) {
+            files.addAll(writePatterns(root, BROKEN + i, true));
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Deletes a generated project.
+     *
+     * @param root the source root the project was generated in.
+     *
+     * @throws IOException if a file could not be deleted.
+     */
+    public static void delete(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.collect(Collectors.toList());
+        }
+        // Children before their parents.
+        Collections.reverse(paths);
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    private static List<Path> writePatterns(Path root, String id, boolean broken)
+        throws IOException {
+        List<Path> files = new ArrayList<>();
+        files.addAll(writeAll(root, "singleton", singleton(id, broken)));
+        files.addAll(writeAll(root, "immutable", immutable(id, broken)));
+        files.addAll(writeAll(root, "decorator", decorator(id, broken)));
+        files.addAll(writeAll(root, "adapter", adapter(id, broken)));
+        files.addAll(writeAll(root, "proxy", proxy(id, broken)));
+        files.addAll(writeAll(root, "composite", composite(id, broken)));
+        return files;
+    }
+
+    private static String fillerPackage(int index) {
+        return "filler.p" + index / CLASSES_PER_PACKAGE;
+    }
+
+    private String fillerClass(int index) {
+        // The class it depends on may be in another package.
+        String previous = index > 0 ?
+            PACKAGE + "." + fillerPackage(index - 1) + ".Filler" + (index - 1) : null;
+        StringBuilder source = new StringBuilder(512);
+        source.append(header(fillerPackage(index), null))
+              .append("public class Filler").append(index);
+        if (index % inheritanceDepth > 0) {
+            source.append(" extends ").append(previous);
+        }
+        source.append(" {\n\n    private int value").append(index).append(";\n");
+        if (previous != null) {
+            source.append("    private ").append(previous).append(" previous;\n");
+        }
+        return source.append("\n    public int getValue").append(index)
+                     .append("() {\n        return value").append(index)
+                     .append(";\n    }\n}\n").toString();
+    }
+
+    /**
+     * A lazy singleton, a broken one has a public constructor.
+     */
+    private static Map<String, String> singleton(String id, boolean broken) {
+        String name = "Registry" + id;
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(name, header("singleton", "SINGLETON") +
+                    "public final class " + name + " {\n\n" +
+                    "    private static " + name + " instance;\n\n" +
+                    (broken ? "    public " : "    private ") + name + "() {\n    }\n\n" +
+                    "    public static " + name + " getInstance() {\n" +
+                    "        if (instance == null) {\n" +
+                    "            instance = new " + name + "();\n" +
+                    "        }\n" +
+                    "        return instance;\n" +
+                    "    }\n}\n");
+        return sources;
+    }
+
+    /**
+     * A value class, a broken one can change its name.
+     */
+    private static Map<String, String> immutable(String id, boolean broken) {
+        String name = "Value" + id;
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(name, header("immutable", "IMMUTABLE") +
+                    "public final class " + name + " {\n\n" +
+                    "    private final int id;\n" +
+                    (broken ? "    private String name;\n\n" : "    private final String name;\n\n") +
+                    "    public " + name + "(int id, String name) {\n" +
+                    "        this.id = id;\n" +
+                    "        this.name = name;\n" +
+                    "    }\n\n" +
+                    "    public int getId() {\n        return id;\n    }\n\n" +
+                    "    public String getName() {\n        return name;\n    }\n" +
+                    (broken ? "\n    public void rename(String newName) {\n" +
+                              "        name = newName;\n    }\n" : "") +
+                    "}\n");
+        return sources;
+    }
+
+    /**
+     * A component with a decorator, the abstract decorator of a broken one does not wrap a
+     * component.
+     */
+    private static Map<String, String> decorator(String id, boolean broken) {
+        String component = "Beverage" + id;
+        String decorator = "BeverageDecorator" + id;
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(component, header("decorator", "DECORATOR_INTERFACE_COMPONENT") +
+                    "public interface " + component + " {\n\n    int getCost();\n}\n");
+        sources.put("Coffee" + id, header("decorator", "DECORATOR_CONCRETE_COMPONENT") +
+                    "public class Coffee" + id + " implements " + component + " {\n\n" +
+                    "    private int cost = 5;\n\n" +
+                    "    @Override\n" +
+                    "    public int getCost() {\n        return cost;\n    }\n}\n");
+        sources.put(decorator, header("decorator", "DECORATOR_ABSTRACT_DECORATOR") + (broken ?
+            "public abstract class " + decorator + " implements " + component + " {\n\n" +
+            "    private int cost;\n\n" +
+            "    @Override\n" +
+            "    public int getCost() {\n        return cost;\n    }\n}\n" :
+            "public abstract class " + decorator + " implements " + component + " {\n\n" +
+            "    private " + component + " component;\n" +
+            "    private int cost;\n\n" +
+            "    public " + decorator + "(" + component + " component) {\n" +
+            "        this.component = component;\n" +
+            "    }\n\n" +
+            "    @Override\n" +
+            "    public int getCost() {\n" +
+            "        return component.getCost() + cost;\n" +
+            "    }\n}\n"));
+        sources.put("Milk" + id, header("decorator", "DECORATOR_CONCRETE_DECORATOR") +
+                    "public class Milk" + id + " extends " + decorator + " {\n\n" +
+                    "    private " + component + " component;\n\n" +
+                    "    public Milk" + id + "(" + component + " component) {\n" +
+                    (broken ? "" : "        super(component);\n") +
+                    "        this.component = component;\n" +
+                    "    }\n\n" +
+                    "    @Override\n" +
+                    "    public int getCost() {\n" +
+                    "        return component.getCost() + 3;\n" +
+                    "    }\n}\n");
+        return sources;
+    }
+
+    /**
+     * An adapter between two interfaces, a broken one does not use the adaptee.
+     */
+    private static Map<String, String> adapter(String id, boolean broken) {
+        String adaptee = "LightningPhone" + id;
+        String target = "MicroUsbPhone" + id;
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(adaptee, header("adapter", "ADAPTER_ADAPTEE") +
+                    "public interface " + adaptee + " {\n\n" +
+                    "    void recharge();\n\n    void useLightning();\n}\n");
+        sources.put(target, header("adapter", null) +
+                    "public interface " + target + " {\n\n" +
+                    "    void recharge();\n\n    void useMicroUsb();\n}\n");
+        sources.put("UsbAdapter" + id, header("adapter", "ADAPTER_ADAPTER") + (broken ?
+            "public class UsbAdapter" + id + " implements " + target + " {\n\n" +
+            "    @Override\n" +
+            "    public void useMicroUsb() {\n        System.out.println(\"MicroUsb\");\n    }\n\n" +
+            "    @Override\n" +
+            "    public void recharge() {\n        System.out.println(\"Recharge\");\n    }\n}\n" :
+            "public class UsbAdapter" + id + " implements " + target + " {\n\n" +
+            "    private final " + adaptee + " phone;\n\n" +
+            "    public UsbAdapter" + id + "(" + adaptee + " phone) {\n" +
+            "        this.phone = phone;\n" +
+            "    }\n\n" +
+            "    @Override\n" +
+            "    public void useMicroUsb() {\n        phone.useLightning();\n    }\n\n" +
+            "    @Override\n" +
+            "    public void recharge() {\n        phone.recharge();\n    }\n}\n"));
+        return sources;
+    }
+
+    /**
+     * A proxy for a subject, a broken one does not have a subject.
+     */
+    private static Map<String, String> proxy(String id, boolean broken) {
+        String subjectInterface = "TextSource" + id;
+        String subject = "TextFile" + id;
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(subjectInterface, header("proxy", "PROXY_INTERFACE") +
+                    "public interface " + subjectInterface + " {\n\n" +
+                    "    String getText(int id);\n}\n");
+        sources.put(subject, header("proxy", "PROXY_SUBJECT") +
+                    "public class " + subject + " implements " + subjectInterface + " {\n\n" +
+                    "    @Override\n" +
+                    "    public String getText(int id) {\n" +
+                    "        return \"Text \" + id;\n" +
+                    "    }\n}\n");
+        sources.put("TextProxy" + id, header("proxy", "PROXY_PROXY") + (broken ?
+            "public class TextProxy" + id + " implements " + subjectInterface + " {\n\n" +
+            "    @Override\n" +
+            "    public String getText(int id) {\n" +
+            "        return \"Proxy \" + id;\n" +
+            "    }\n}\n" :
+            "public class TextProxy" + id + " implements " + subjectInterface + " {\n\n" +
+            "    private " + subject + " subject;\n\n" +
+            "    public TextProxy" + id + "(" + subject + " subject) {\n" +
+            "        this.subject = subject;\n" +
+            "    }\n\n" +
+            "    @Override\n" +
+            "    public String getText(int id) {\n" +
+            "        return subject.getText(id);\n" +
+            "    }\n}\n"));
+        return sources;
+    }
+
+    /**
+     * A container with a leaf, the container of a broken one does not delegate to its children.
+     */
+    private static Map<String, String> composite(String id, boolean broken) {
+        String component = "Shape" + id;
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(component, header("composite", "COMPOSITE_COMPONENT") +
+                    "public interface " + component + " {\n\n    void draw();\n}\n");
+        sources.put("Group" + id, header("composite", "COMPOSITE_CONTAINER",
+                                         "java.util.ArrayList", "java.util.List") +
+                    "public class Group" + id + " implements " + component + " {\n\n" +
+                    "    private final List<" + component + "> children = new ArrayList<>();\n\n" +
+                    "    @Override\n" +
+                    "    public void draw() {\n" +
+                    "        for (" + component + " child : children) {\n" +
+                    (broken ? "            System.out.println(child);\n" :
+                        "            child.draw();\n") +
+                    "        }\n" +
+                    "    }\n}\n");
+        sources.put("Circle" + id, header("composite", "COMPOSITE_LEAF") +
+                    "public class Circle" + id + " implements " + component + " {\n\n" +
+                    "    @Override\n" +
+                    "    public void draw() {\n" +
+                    "        System.out.println(\"Circle\");\n" +
+                    "    }\n}\n");
+        return sources;
+    }
+
+    /**
+     * The package declaration and imports of a file, followed by the annotation for the pattern
+     * if there is one.
+     */
+    private static String header(String packageName, String pattern, String... imports) {
+        StringBuilder header = new StringBuilder(256);
+        header.append("package ").append(PACKAGE).append('.').append(packageName).append(";\n\n");
+        for (String type : imports) {
+            header.append("import ").append(type).append(";\n");
+        }
+        if (imports.length > 0) {
+            header.append('\n');
+        }
+        if (pattern != null) {
+            header.append("import tool.designpatterns.DesignPattern;\n")
+                  .append("import tool.designpatterns.Pattern;\n\n")
+                  .append("@DesignPattern(pattern = {Pattern.").append(pattern).append("})\n");
+        }
+        return header.toString();
+    }
+
+    private static List<Path> writeAll(Path root, String packageName, Map<String, String> sources)
+        throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            files.add(write(root, packageName, source.getKey(), source.getValue()));
+        }
+        return files;
+    }
+
+    private static Path write(Path root, String packageName, String name, String source)
+        throws IOException {
+        Path directory = root.resolve(PACKAGE).resolve(packageName.replace('.', '/'));
+        Files.createDirectories(directory);
+        Path file = directory.resolve(name + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}